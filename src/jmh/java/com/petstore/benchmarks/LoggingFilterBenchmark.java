@@ -0,0 +1,67 @@
+package com.petstore.benchmarks;
+
+import com.petstore.utils.LoggingFilter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.openjdk.jmh.annotations.*;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through {@link LoggingFilter} per level, with the downstream chain stubbed out so only
+ * the filter's own cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class LoggingFilterBenchmark {
+    private static final String BODY =
+            "{\"id\":1,\"name\":\"Max\",\"photoUrls\":[\"https://example.com/max.jpg\"],\"status\":\"available\"}";
+
+    @Param({"OFF", "SUMMARY", "HEADERS", "FULL"})
+    public LoggingFilter.Level level;
+
+    private LoggingFilter filter;
+    private FilterableRequestSpecification requestSpec;
+    private FilterContext ctx;
+
+    @Setup
+    public void setup() {
+        filter = new LoggingFilter(level, 2048);
+        Headers headers = new Headers(new Header("Content-Type", "application/json"),
+                new Header("Accept", "application/json"));
+        Response response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setHeaders(headers)
+                .setContentType("application/json")
+                .setBody(BODY.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        requestSpec = (FilterableRequestSpecification) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{FilterableRequestSpecification.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> "POST";
+                    case "getURI" -> "http://localhost:8080/v2/pet";
+                    case "getHeaders" -> headers;
+                    case "getBody" -> BODY;
+                    default -> null;
+                });
+        ctx = (FilterContext) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{FilterContext.class},
+                (proxy, method, args) -> "next".equals(method.getName()) ? response : null);
+    }
+
+    @Benchmark
+    public Response filterPass() {
+        return filter.filter(requestSpec, null, ctx);
+    }
+}
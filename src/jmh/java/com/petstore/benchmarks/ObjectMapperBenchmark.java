@@ -0,0 +1,74 @@
+package com.petstore.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.petstore.api.config.JsonMapperProvider;
+import com.petstore.api.models.Pet;
+import com.petstore.utils.TestDataGenerator;
+import org.openjdk.jmh.annotations.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-response deserialization cost with a plain {@code ObjectMapper} (what REST Assured builds
+ * by default) versus the shared {@link JsonMapperProvider} mapper, for a single pet, a
+ * findByStatus page and a store inventory map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ObjectMapperBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final int INVENTORY_SIZE = 50;
+
+    @Param({"default", "tuned"})
+    public String mapper;
+
+    private ObjectReader petReader;
+    private ObjectReader petPageReader;
+    private ObjectReader inventoryReader;
+    private byte[] petJson;
+    private byte[] petPageJson;
+    private byte[] inventoryJson;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = "tuned".equals(mapper) ? JsonMapperProvider.getObjectMapper() : new ObjectMapper();
+        petReader = objectMapper.readerFor(Pet.class);
+        petPageReader = objectMapper.readerFor(Pet[].class);
+        inventoryReader = objectMapper.readerFor(new TypeReference<Map<String, Integer>>() { });
+
+        List<Pet> page = Stream.generate(TestDataGenerator::createRandomPet).limit(PAGE_SIZE).collect(Collectors.toList());
+        Map<String, Integer> inventory = new LinkedHashMap<>();
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            inventory.put("status" + i, i * 7);
+        }
+        ObjectMapper writer = new ObjectMapper();
+        petJson = writer.writeValueAsBytes(page.get(0));
+        petPageJson = writer.writeValueAsBytes(page);
+        inventoryJson = writer.writeValueAsBytes(inventory);
+    }
+
+    @Benchmark
+    public Pet deserializePet() throws Exception {
+        return petReader.readValue(petJson);
+    }
+
+    @Benchmark
+    public Pet[] deserializePetPage() throws Exception {
+        return petPageReader.readValue(petPageJson);
+    }
+
+    @Benchmark
+    public Map<String, Integer> deserializeInventory() throws Exception {
+        return inventoryReader.readValue(inventoryJson);
+    }
+}
@@ -0,0 +1,28 @@
+package com.petstore.benchmarks;
+
+import com.petstore.api.config.TestConfig;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a request specification from scratch versus reusing the shared one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class RequestSpecBenchmark {
+
+    @Benchmark
+    public RequestSpecification buildRequestSpec() {
+        return TestConfig.getRequestSpec("http://localhost:8080/v2");
+    }
+
+    @Benchmark
+    public RequestSpecification sharedRequestSpec() {
+        return TestConfig.getRequestSpec();
+    }
+}
@@ -0,0 +1,45 @@
+package com.petstore.benchmarks;
+
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.TestDataGenerator;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full endpoint call through the shared filter chain and connection pool against the embedded
+ * stub, so the number is framework overhead plus loopback rather than internet latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+    private PetstoreStubServer stub;
+    private PetEndpoint petEndpoint;
+    private Long petId;
+
+    @Setup
+    public void startStub() {
+        stub = new PetstoreStubServer().start();
+        petEndpoint = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl()));
+        Pet pet = TestDataGenerator.createRandomPet();
+        petEndpoint.createPet(pet);
+        petId = pet.getId();
+    }
+
+    @TearDown
+    public void stopStub() {
+        stub.stop();
+    }
+
+    @Benchmark
+    public Response getPetById() {
+        return petEndpoint.getPetById(petId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.petstore.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import com.petstore.utils.BodyTemplate;
+import com.petstore.utils.TestDataGenerator;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round-trip cost of the request and response models, and of rendering the same
+ * request bodies from a {@link BodyTemplate} instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Pet pet;
+    private Order order;
+    private User user;
+    private byte[] petJson;
+    private byte[] orderJson;
+    private byte[] userJson;
+    private BodyTemplate petTemplate;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        pet = TestDataGenerator.createRandomPet();
+        order = TestDataGenerator.createRandomOrder();
+        user = TestDataGenerator.createRandomUser();
+        petJson = objectMapper.writeValueAsBytes(pet);
+        orderJson = objectMapper.writeValueAsBytes(order);
+        userJson = objectMapper.writeValueAsBytes(user);
+        petTemplate = BodyTemplate.of(pet, "id", "name");
+    }
+
+    @Benchmark
+    public byte[] serializePet() throws Exception {
+        return objectMapper.writeValueAsBytes(pet);
+    }
+
+    @Benchmark
+    public byte[] renderPetTemplate() {
+        return petTemplate.render(pet.getId(), pet.getName());
+    }
+
+    @Benchmark
+    public Pet deserializePet() throws Exception {
+        return objectMapper.readValue(petJson, Pet.class);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order deserializeOrder() throws Exception {
+        return objectMapper.readValue(orderJson, Order.class);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws Exception {
+        return objectMapper.readValue(userJson, User.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.petstore.benchmarks;
+
+import com.petstore.api.models.Pet;
+import com.petstore.utils.TestDataGenerator;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data generation, single-threaded and under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class TestDataBenchmark {
+
+    @Benchmark
+    public Pet createRandomPet() {
+        return TestDataGenerator.createRandomPet();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Pet createRandomPetContended() {
+        return TestDataGenerator.createRandomPet();
+    }
+}
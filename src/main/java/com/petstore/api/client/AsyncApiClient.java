@@ -0,0 +1,198 @@
+package com.petstore.api.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.JsonMapperProvider;
+import com.petstore.utils.ApiMetrics;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking transport for the async endpoints. A single {@link HttpClient} multiplexes all
+ * requests over its selector thread, so callers never hold a thread while a response is pending.
+ * Responses are adapted to REST Assured's {@link Response} so they can be validated and
+ * deserialized exactly like the synchronous ones.
+ *
+ * <p>Calls are recorded in {@link ApiMetrics} but do not pass through the REST Assured filters:
+ * no retries or circuit breaker, throttling, logging or response cache. Since its writes could
+ * not invalidate cached reads, the client refuses to send them while {@code api.cache.enabled}
+ * is on.
+ */
+public class AsyncApiClient {
+    private static final ObjectMapper objectMapper = JsonMapperProvider.getObjectMapper();
+    private static final String JSON = "application/json";
+    private static final String FORM = "application/x-www-form-urlencoded";
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private static final HttpClient sharedHttpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(ApiConfig.getTimeout()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public AsyncApiClient() {
+        this(ApiConfig.getBaseUrl());
+    }
+
+    public AsyncApiClient(String baseUrl) {
+        this(sharedHttpClient, baseUrl);
+    }
+
+    public AsyncApiClient(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = Duration.ofMillis(ApiConfig.getTimeout());
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public CompletableFuture<Response> get(String path, Map<String, ?> pathParams, Map<String, ?> queryParams) {
+        return send("GET", path, pathParams, queryParams, Collections.emptyMap(), null);
+    }
+
+    public CompletableFuture<Response> post(String path, Object body) {
+        return send("POST", path, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), body);
+    }
+
+    public CompletableFuture<Response> put(String path, Map<String, ?> pathParams, Object body) {
+        return send("PUT", path, pathParams, Collections.emptyMap(), Collections.emptyMap(), body);
+    }
+
+    public CompletableFuture<Response> delete(String path, Map<String, ?> pathParams, Map<String, String> headers) {
+        return send("DELETE", path, pathParams, Collections.emptyMap(), headers, null);
+    }
+
+    public CompletableFuture<Response> postForm(String path, Map<String, ?> pathParams, Map<String, ?> formParams) {
+        HttpRequest request = newRequest(path, pathParams, Collections.emptyMap(), Collections.emptyMap())
+                .header("Content-Type", FORM)
+                .POST(HttpRequest.BodyPublishers.ofString(encode(formParams)))
+                .build();
+        return sendAsync(request, path);
+    }
+
+    public CompletableFuture<Response> send(String method, String path, Map<String, ?> pathParams,
+                                            Map<String, ?> queryParams, Map<String, String> headers,
+                                            Object body) {
+        HttpRequest.Builder builder = newRequest(path, pathParams, queryParams, headers);
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", JSON)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(serialize(body)));
+        }
+        return sendAsync(builder.build(), path);
+    }
+
+    private HttpRequest.Builder newRequest(String path, Map<String, ?> pathParams,
+                                           Map<String, ?> queryParams, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(buildUri(path, pathParams, queryParams))
+                .timeout(timeout)
+                .header("Accept", JSON);
+        headers.forEach(builder::header);
+        return builder;
+    }
+
+    private CompletableFuture<Response> sendAsync(HttpRequest request, String path) {
+        if (WRITE_METHODS.contains(request.method()) && ApiConfig.isCacheEnabled()) {
+            throw new IllegalStateException(request.method() + " " + path + " cannot be sent async while"
+                    + " api.cache.enabled is on: it would not invalidate the reads cached by ResponseCacheFilter");
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Response> future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(AsyncApiClient::toResponse);
+        if (!ApiConfig.isMetricsEnabled()) {
+            return future;
+        }
+        // Same keys as MetricsFilter, so sync and async calls share one histogram per endpoint
+        String key = ApiMetrics.key(request.method(), path);
+        return future.whenComplete((response, error) -> ApiMetrics.record(key, System.nanoTime() - start,
+                response != null ? response.getStatusCode() : -1));
+    }
+
+    URI buildUri(String path, Map<String, ?> pathParams, Map<String, ?> queryParams) {
+        String resolved = path;
+        for (Map.Entry<String, ?> param : pathParams.entrySet()) {
+            resolved = resolved.replace("{" + param.getKey() + "}",
+                    encodePathSegment(String.valueOf(param.getValue())));
+        }
+        StringBuilder uri = new StringBuilder(baseUrl).append(resolved);
+        if (!queryParams.isEmpty()) {
+            uri.append('?').append(encode(queryParams));
+        }
+        return URI.create(uri.toString());
+    }
+
+    // RFC 3986: a segment keeps its unreserved characters, sub-delims, ':' and '@'; URLEncoder is
+    // form encoding, which turns a space into '+'
+    private static String encodePathSegment(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || "-._~!$&'()*+,;=:@".indexOf(c) >= 0) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String encode(Map<String, ?> params) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+        }
+        return encoded.toString();
+    }
+
+    private static byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize request body", e);
+        }
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> httpResponse) {
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+        String contentType = httpResponse.headers().firstValue("Content-Type").orElse(JSON);
+
+        return new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine(httpResponse.version() + " " + httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setContentType(contentType)
+                .setBody(httpResponse.body())
+                .build();
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Properties;
 
 public class ApiConfig {
     private static final Properties properties = new Properties();
+    // Set while the suite runs against the embedded stub
+    private static volatile String stubBaseUrl;
 
     static {
         try (InputStream input = ApiConfig.class.getClassLoader()
@@ -18,15 +20,337 @@ public class ApiConfig {
         }
     }
 
+    // System properties (-Dkey=value) take precedence over config.properties
+    private static String getProperty(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+
     public static String getBaseUrl() {
-        return properties.getProperty("api.base.url", "https://petstore.swagger.io/v2");
+        String stub = stubBaseUrl;
+        return stub != null ? stub : getConfiguredBaseUrl();
+    }
+
+    // api.base.url as configured, whether or not a stub stands in for it
+    public static String getConfiguredBaseUrl() {
+        return getProperty("api.base.url", "https://petstore.swagger.io/v2");
     }
 
     public static int getTimeout() {
-        return Integer.parseInt(properties.getProperty("api.timeout", "30000"));
+        return Integer.parseInt(getProperty("api.timeout", "30000"));
     }
 
     public static boolean isLogEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("api.log.enabled", "true"));
+        return Boolean.parseBoolean(getProperty("api.log.enabled", "true"));
+    }
+
+    public static String getLogLevel() {
+        return getProperty("api.log.level", "SUMMARY");
+    }
+
+    public static int getLogBodyMaxLength() {
+        return Integer.parseInt(getProperty("api.log.body.max.length", "2048"));
+    }
+
+    // Embedded stub
+    public static boolean isStubEnabled() {
+        return Boolean.parseBoolean(getProperty("api.stub.enabled", "false"));
+    }
+
+    public static int getStubPort() {
+        return Integer.parseInt(getProperty("api.stub.port", "0"));
+    }
+
+    /**
+     * Points {@link #getBaseUrl()} at a running stub instead of {@code api.base.url}, or back
+     * when {@code null}. Set it before the shared spec and the async clients are first built.
+     */
+    public static void useStub(String baseUrl) {
+        stubBaseUrl = baseUrl;
+    }
+
+    // Metrics
+    public static boolean isMetricsEnabled() {
+        return Boolean.parseBoolean(getProperty("api.metrics.enabled", "true"));
+    }
+
+    public static String getMetricsReportPath() {
+        return getProperty("api.metrics.report.path", "target/api-metrics.json");
+    }
+
+    // Response cache
+    public static boolean isCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("api.cache.enabled", "false"));
+    }
+
+    public static long getCacheTtlMillis() {
+        return Long.parseLong(getProperty("api.cache.ttl.ms", "5000"));
+    }
+
+    public static int getCacheMaxEntries() {
+        return Integer.parseInt(getProperty("api.cache.max.entries", "1000"));
+    }
+
+    public static long getCacheMaxBytes() {
+        return Long.parseLong(getProperty("api.cache.max.bytes", "16777216"));
+    }
+
+    // Retry and circuit breaker (the retry count itself is test.retry.count)
+    public static boolean isRetryEnabled() {
+        return Boolean.parseBoolean(getProperty("api.retry.enabled", "true"));
+    }
+
+    public static long getRetryBackoffMillis() {
+        return Long.parseLong(getProperty("api.retry.backoff.ms", "100"));
+    }
+
+    public static long getRetryMaxBackoffMillis() {
+        return Long.parseLong(getProperty("api.retry.backoff.max.ms", "2000"));
+    }
+
+    public static boolean isRetryNonIdempotent() {
+        return Boolean.parseBoolean(getProperty("api.retry.non.idempotent", "false"));
+    }
+
+    public static int getCircuitWindowSize() {
+        return Integer.parseInt(getProperty("api.circuit.window.size", "50"));
+    }
+
+    public static int getCircuitMinimumCalls() {
+        return Integer.parseInt(getProperty("api.circuit.minimum.calls", "20"));
+    }
+
+    public static double getCircuitFailureRate() {
+        return Double.parseDouble(getProperty("api.circuit.failure.rate", "0.5"));
+    }
+
+    public static long getCircuitOpenMillis() {
+        return Long.parseLong(getProperty("api.circuit.open.ms", "5000"));
+    }
+
+    // Throttling, per top-level route with api.limit.default.* as the fallback
+    public static boolean isLimitEnabled() {
+        return Boolean.parseBoolean(getProperty("api.limit.enabled", "false"));
+    }
+
+    public static double getLimitRps(String route) {
+        return Double.parseDouble(getLimitProperty(route, "rps", "0"));
+    }
+
+    public static int getLimitBurst(String route) {
+        return Integer.parseInt(getLimitProperty(route, "burst", "20"));
+    }
+
+    public static boolean isLimitConcurrencyAdaptive(String route) {
+        return Boolean.parseBoolean(getLimitProperty(route, "concurrency.adaptive", "true"));
+    }
+
+    public static int getLimitConcurrencyInitial(String route) {
+        return Integer.parseInt(getLimitProperty(route, "concurrency.initial", "32"));
+    }
+
+    public static int getLimitConcurrencyMin(String route) {
+        return Integer.parseInt(getLimitProperty(route, "concurrency.min", "4"));
+    }
+
+    public static int getLimitConcurrencyMax(String route) {
+        return Integer.parseInt(getLimitProperty(route, "concurrency.max", "256"));
+    }
+
+    public static double getLimitLatencyTolerance(String route) {
+        return Double.parseDouble(getLimitProperty(route, "latency.tolerance", "2.0"));
+    }
+
+    public static double getLimitBackoffRatio(String route) {
+        return Double.parseDouble(getLimitProperty(route, "backoff.ratio", "0.9"));
+    }
+
+    private static String getLimitProperty(String route, String name, String defaultValue) {
+        return getProperty("api.limit." + route + "." + name,
+                getProperty("api.limit.default." + name, defaultValue));
+    }
+
+    // Connection pool
+    public static int getPoolMaxTotal() {
+        return Integer.parseInt(getProperty("api.pool.max.total", "200"));
+    }
+
+    public static int getPoolMaxPerRoute() {
+        return Integer.parseInt(getProperty("api.pool.max.per.route", "100"));
+    }
+
+    public static long getPoolIdleTimeout() {
+        return Long.parseLong(getProperty("api.pool.idle.timeout", "30000"));
+    }
+
+    public static long getPoolBufferMaxBytes() {
+        return Long.parseLong(getProperty("api.pool.buffer.max.bytes", "65536"));
+    }
+
+    // Concurrency
+    public static int getMaxConcurrentCalls() {
+        return Integer.parseInt(getProperty("api.concurrency.max", "1000"));
+    }
+
+    // Batching
+    public static int getBatchSize() {
+        return Integer.parseInt(getProperty("api.batch.size", "100"));
+    }
+
+    public static int getBatchParallelism() {
+        return Integer.parseInt(getProperty("api.batch.parallelism", "8"));
+    }
+
+    // Test data
+    public static int getRetryCount() {
+        return Integer.parseInt(getProperty("test.retry.count", "3"));
+    }
+
+    public static boolean isCleanupEnabled() {
+        return Boolean.parseBoolean(getProperty("test.cleanup.enabled", "true"));
+    }
+
+    public static String getTestDataPath() {
+        return getProperty("test.data.path", "src/test/resources/test-data");
+    }
+
+    // Shares of a data file for parallel data-driven tests; 0 uses one per data provider thread
+    public static int getTestDataPartitions() {
+        return Integer.parseInt(getProperty("test.data.partitions", "0"));
+    }
+
+    public static int getCleanupParallelism() {
+        return Integer.parseInt(getProperty("test.cleanup.parallelism", "16"));
+    }
+
+    public static int getCleanupMaxTracked() {
+        return Integer.parseInt(getProperty("test.cleanup.max.tracked", "100000"));
+    }
+
+    public static boolean isParallelEnabled() {
+        return Boolean.parseBoolean(getProperty("test.parallel.enabled", "true"));
+    }
+
+    // 0 sizes the TestNG worker pool from the available cores
+    public static int getParallelThreads() {
+        return Integer.parseInt(getProperty("test.parallel.threads", "0"));
+    }
+
+    // Load generation
+    public static int getLoadTargetRps() {
+        return Integer.parseInt(getProperty("load.target.rps", "100"));
+    }
+
+    public static int getLoadRampUpSeconds() {
+        return Integer.parseInt(getProperty("load.rampup.seconds", "10"));
+    }
+
+    public static int getLoadDurationSeconds() {
+        return Integer.parseInt(getProperty("load.duration.seconds", "60"));
+    }
+
+    public static int getLoadMaxInFlight() {
+        return Integer.parseInt(getProperty("load.max.inflight", "512"));
+    }
+
+    public static String getLoadMix() {
+        return getProperty("load.mix",
+                "createPet:2,getPet:5,findPetsByStatus:1,updatePet:1,deletePet:1,"
+                        + "placeOrder:1,getOrder:2,getInventory:2,createUser:1,getUser:2,loginUser:1");
+    }
+
+    public static long getLoadDataPoolSize() {
+        return Long.parseLong(getProperty("load.data.pool.size", "1000000"));
+    }
+
+    // Off by default: a retried 5xx would pass as a success and hide server errors from the report
+    public static boolean isLoadRetryEnabled() {
+        return Boolean.parseBoolean(getProperty("load.retry.enabled", "false"));
+    }
+
+    public static long getLoadDataPreload() {
+        return Long.parseLong(getProperty("load.data.preload", "16384"));
+    }
+
+    // Unset means a fresh seed per run; set it to replay a run's data exactly
+    public static Long getLoadDataSeed() {
+        String seed = getProperty("load.data.seed", "");
+        return seed.isEmpty() ? null : Long.parseLong(seed);
+    }
+
+    // Block of 10^12 ids for this JVM's test data, 1-999; unset picks one at random
+    public static Long getLoadDataIdBlock() {
+        String block = getProperty("load.data.id.block", "");
+        return block.isEmpty() ? null : Long.valueOf(block);
+    }
+
+    // Distributed load
+    public static int getDistributedWorkers() {
+        return Integer.parseInt(getProperty("load.distributed.workers", "2"));
+    }
+
+    public static String getDistributedCoordinator() {
+        return getProperty("load.distributed.coordinator", "localhost:7171");
+    }
+
+    public static int getDistributedPort() {
+        return Integer.parseInt(getProperty("load.distributed.port", "7171"));
+    }
+
+    public static long getDistributedConnectTimeoutMillis() {
+        return Long.parseLong(getProperty("load.distributed.connect.timeout.ms", "60000"));
+    }
+
+    public static long getDistributedStartDelayMillis() {
+        return Long.parseLong(getProperty("load.distributed.start.delay.ms", "5000"));
+    }
+
+    // Soak runs
+    public static int getSoakConcurrency() {
+        return Integer.parseInt(getProperty("soak.concurrency", "16"));
+    }
+
+    public static long getSoakDurationSeconds() {
+        return Long.parseLong(getProperty("soak.duration.seconds", "3600"));
+    }
+
+    public static long getSoakWindowSeconds() {
+        return Long.parseLong(getProperty("soak.window.seconds", "10"));
+    }
+
+    public static String getSoakFlows() {
+        return getProperty("soak.flows", "pet,store,user");
+    }
+
+    public static int getSoakBaselineWindows() {
+        return Integer.parseInt(getProperty("soak.baseline.windows", "6"));
+    }
+
+    public static double getSoakDriftThreshold() {
+        return Double.parseDouble(getProperty("soak.drift.threshold", "0.5"));
+    }
+
+    public static String getSoakReportPath() {
+        return getProperty("soak.report.path", "target/soak/soak");
+    }
+
+    public static long getSoakReportMaxBytes() {
+        return Long.parseLong(getProperty("soak.report.max.bytes", "10485760"));
+    }
+
+    public static int getSoakHistoryWindows() {
+        return Integer.parseInt(getProperty("soak.history.windows", "360"));
+    }
+
+    // Scenario runs
+    public static int getScenarioVirtualUsers() {
+        return Integer.parseInt(getProperty("scenario.virtual.users", "1000"));
+    }
+
+    public static long getScenarioRampUpSeconds() {
+        return Long.parseLong(getProperty("scenario.rampup.seconds", "60"));
+    }
+
+    public static long getScenarioDurationSeconds() {
+        return Long.parseLong(getProperty("scenario.duration.seconds", "600"));
     }
 }
@@ -0,0 +1,60 @@
+package com.petstore.api.config;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.params.SyncBasicHttpParams;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single keep-alive HttpClient shared by every REST Assured request. REST Assured still requires
+ * the legacy {@code AbstractHttpClient} API, hence the deprecated pooling manager.
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientProvider {
+    private static final PoolingClientConnectionManager connectionManager = createConnectionManager();
+    private static final DefaultHttpClient httpClient = createHttpClient();
+
+    static {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-idle-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long idleTimeout = ApiConfig.getPoolIdleTimeout();
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    public static HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public static PoolingClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault());
+        manager.setMaxTotal(ApiConfig.getPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(ApiConfig.getPoolMaxPerRoute());
+        return manager;
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        // REST Assured writes its client params on every request, so they must be thread-safe
+        HttpParams params = new SyncBasicHttpParams();
+        DefaultHttpClient.setDefaultHttpParams(params);
+        HttpConnectionParams.setConnectionTimeout(params, ApiConfig.getTimeout());
+        HttpConnectionParams.setSoTimeout(params, ApiConfig.getTimeout());
+        return new DefaultHttpClient(connectionManager, params);
+    }
+}
@@ -0,0 +1,34 @@
+package com.petstore.api.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Single Jackson mapper shared by REST Assured (through {@link TestConfig#getRestAssuredConfig()}),
+ * the async client, the stub server and the reports. Blackbird replaces reflective getter and
+ * setter calls on the Lombok models with generated lambdas; unknown properties are ignored so
+ * that server-side additions do not break deserialization.
+ *
+ * <p>Configured once and thread-safe; do not reconfigure it, derive a {@link ObjectMapper#copy()}.
+ */
+public class JsonMapperProvider {
+    private static final ObjectMapper objectMapper = createObjectMapper();
+
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        return JsonMapper.builder()
+                .addModule(new BlackbirdModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                // Every model has setters; collections need not be filled through their getters
+                .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                .build();
+    }
+}
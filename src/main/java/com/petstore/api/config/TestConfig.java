@@ -2,26 +2,119 @@ package com.petstore.api.config;
 
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.log.LogDetail;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
+import com.petstore.utils.ConnectionPermitFilter;
 import com.petstore.utils.LoggingFilter;
+import com.petstore.utils.MetricsFilter;
+import com.petstore.utils.ResponseCacheFilter;
+import com.petstore.utils.RetryFilter;
+import com.petstore.utils.ThrottleFilter;
 
 public class TestConfig {
+    // One gate per pool: every spec sends through the same HttpClientProvider
+    private static final ConnectionPermitFilter CONNECTION_PERMITS = new ConnectionPermitFilter();
+    // Shared so that a write through any spec invalidates reads cached through the others
+    private static final ResponseCacheFilter RESPONSE_CACHE = new ResponseCacheFilter();
+    // Shared so that each host has one circuit breaker, whichever spec calls it
+    private static final RetryFilter RETRY = new RetryFilter();
+    // Shared so that the limits hold across every spec, not per endpoint instance
+    private static final ThrottleFilter THROTTLE = new ThrottleFilter();
+    private static volatile RequestSpecification sharedRequestSpec;
 
+    // Built once and shared by every endpoint; callers only merge it via given().spec(...)
     public static RequestSpecification getRequestSpec() {
+        RequestSpecification spec = sharedRequestSpec;
+        if (spec == null) {
+            synchronized (TestConfig.class) {
+                spec = sharedRequestSpec;
+                if (spec == null) {
+                    spec = getRequestSpec(ApiConfig.getBaseUrl());
+                    sharedRequestSpec = spec;
+                }
+            }
+        }
+        return spec;
+    }
+
+    public static RequestSpecification getRequestSpec(String baseUri) {
+        return getRequestSpec(baseUri, ApiConfig.isCacheEnabled() ? RESPONSE_CACHE : null,
+                ApiConfig.isRetryEnabled() ? RETRY : null);
+    }
+
+    // For load, soak and scenario runs: retries only with load.retry.enabled, so errors are counted,
+    // and no body logging, which would read every response into memory
+    public static RequestSpecification getLoadRequestSpec(String baseUri) {
+        return getRequestSpec(baseUri, ApiConfig.isCacheEnabled() ? RESPONSE_CACHE : null,
+                ApiConfig.isLoadRetryEnabled() ? RETRY : null, LoggingFilter.atMost(LoggingFilter.Level.HEADERS));
+    }
+
+    public static RequestSpecification getRequestSpec(String baseUri, ResponseCacheFilter responseCache) {
+        return getRequestSpec(baseUri, responseCache, ApiConfig.isRetryEnabled() ? RETRY : null);
+    }
+
+    /**
+     * @param responseCache GET cache for this spec, or {@code null} to always hit the server
+     * @param retry         retry and circuit breaker policy, or {@code null} to send each call once
+     */
+    public static RequestSpecification getRequestSpec(String baseUri, ResponseCacheFilter responseCache,
+                                                      RetryFilter retry) {
+        return getRequestSpec(baseUri, responseCache, retry, new LoggingFilter());
+    }
+
+    private static RequestSpecification getRequestSpec(String baseUri, ResponseCacheFilter responseCache,
+                                                       RetryFilter retry, LoggingFilter logging) {
         RequestSpecBuilder builder = new RequestSpecBuilder()
-                .setBaseUri(ApiConfig.getBaseUrl())
+                .setBaseUri(baseUri)
+                .setConfig(getRestAssuredConfig())
                 .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addFilter(new LoggingFilter())
-                .log(LogDetail.ALL);
+                .setAccept(ContentType.JSON);
+        if (retry != null) {
+            builder.addFilter(retry);
+        }
+        builder.addFilter(logging);
+        if (responseCache != null) {
+            builder.addFilter(responseCache);
+        }
+        if (ApiConfig.isLimitEnabled()) {
+            builder.addFilter(THROTTLE);
+        }
+        if (ApiConfig.isMetricsEnabled()) {
+            builder.addFilter(new MetricsFilter());
+        }
+        builder.addFilter(CONNECTION_PERMITS);
 
         return builder.build();
     }
 
+    public static ResponseCacheFilter getResponseCache() {
+        return RESPONSE_CACHE;
+    }
+
+    public static RetryFilter getRetryFilter() {
+        return RETRY;
+    }
+
+    public static ThrottleFilter getThrottleFilter() {
+        return THROTTLE;
+    }
+
+    public static RestAssuredConfig getRestAssuredConfig() {
+        // api.timeout is set on the shared client's params by HttpClientProvider
+        return RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(HttpClientProvider::getHttpClient))
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((type, charset) -> JsonMapperProvider.getObjectMapper()));
+    }
+
     public static void setupRestAssured() {
         RestAssured.baseURI = ApiConfig.getBaseUrl();
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        // No enableLoggingOfRequestAndResponseIfValidationFails(): its response logger reads every
+        // body up front, which would defeat streamed bodies; LoggingFilter logs each exchange instead
+        RestAssured.config = getRestAssuredConfig();
     }
 }
@@ -0,0 +1,64 @@
+package com.petstore.api.endpoints;
+
+import io.restassured.response.Response;
+import com.petstore.api.client.AsyncApiClient;
+import com.petstore.api.models.Pet;
+import com.petstore.utils.TestDataRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncPetEndpoint {
+    private static final String PET_ENDPOINT = "/pet";
+    private static final String PET_BY_ID = PET_ENDPOINT + "/{petId}";
+    private static final String PET_BY_STATUS = PET_ENDPOINT + "/findByStatus";
+
+    private final AsyncApiClient client;
+
+    public AsyncPetEndpoint() {
+        this(new AsyncApiClient());
+    }
+
+    public AsyncPetEndpoint(AsyncApiClient client) {
+        this.client = client;
+    }
+
+    // CREATE
+    public CompletableFuture<Response> createPet(Pet pet) {
+        return client.post(PET_ENDPOINT, pet)
+                .thenApply(response -> TestDataRegistry.recordPet(client.getBaseUrl(), pet, response));
+    }
+
+    // READ
+    public CompletableFuture<Response> getPetById(Long petId) {
+        return client.get(PET_BY_ID, Map.of("petId", petId), Collections.emptyMap());
+    }
+
+    public CompletableFuture<Response> getPetsByStatus(String status) {
+        return client.get(PET_BY_STATUS, Collections.emptyMap(), Map.of("status", status));
+    }
+
+    // UPDATE
+    public CompletableFuture<Response> updatePet(Pet pet) {
+        return client.put(PET_ENDPOINT, Collections.emptyMap(), pet);
+    }
+
+    public CompletableFuture<Response> updatePetWithFormData(Long petId, String name, String status) {
+        Map<String, Object> formParams = new LinkedHashMap<>();
+        formParams.put("name", name);
+        formParams.put("status", status);
+        return client.postForm(PET_BY_ID, Map.of("petId", petId), formParams);
+    }
+
+    // DELETE
+    public CompletableFuture<Response> deletePet(Long petId) {
+        return client.delete(PET_BY_ID, Map.of("petId", petId), Collections.emptyMap())
+                .thenApply(response -> TestDataRegistry.forgetPet(client.getBaseUrl(), petId, response));
+    }
+
+    public CompletableFuture<Response> deletePetWithApiKey(Long petId, String apiKey) {
+        return client.delete(PET_BY_ID, Map.of("petId", petId), Map.of("api_key", apiKey))
+                .thenApply(response -> TestDataRegistry.forgetPet(client.getBaseUrl(), petId, response));
+    }
+}
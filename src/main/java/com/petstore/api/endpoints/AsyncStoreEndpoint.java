@@ -0,0 +1,47 @@
+package com.petstore.api.endpoints;
+
+import io.restassured.response.Response;
+import com.petstore.api.client.AsyncApiClient;
+import com.petstore.api.models.Order;
+import com.petstore.utils.TestDataRegistry;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncStoreEndpoint {
+    private static final String STORE_ENDPOINT = "/store";
+    private static final String ORDER_ENDPOINT = STORE_ENDPOINT + "/order";
+    private static final String ORDER_BY_ID = ORDER_ENDPOINT + "/{orderId}";
+    private static final String INVENTORY = STORE_ENDPOINT + "/inventory";
+
+    private final AsyncApiClient client;
+
+    public AsyncStoreEndpoint() {
+        this(new AsyncApiClient());
+    }
+
+    public AsyncStoreEndpoint(AsyncApiClient client) {
+        this.client = client;
+    }
+
+    // CREATE
+    public CompletableFuture<Response> placeOrder(Order order) {
+        return client.post(ORDER_ENDPOINT, order)
+                .thenApply(response -> TestDataRegistry.recordOrder(client.getBaseUrl(), order, response));
+    }
+
+    // READ
+    public CompletableFuture<Response> getOrderById(Long orderId) {
+        return client.get(ORDER_BY_ID, Map.of("orderId", orderId), Collections.emptyMap());
+    }
+
+    public CompletableFuture<Response> getInventory() {
+        return client.get(INVENTORY, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    // DELETE
+    public CompletableFuture<Response> deleteOrder(Long orderId) {
+        return client.delete(ORDER_BY_ID, Map.of("orderId", orderId), Collections.emptyMap())
+                .thenApply(response -> TestDataRegistry.forgetOrder(client.getBaseUrl(), orderId, response));
+    }
+}
@@ -0,0 +1,61 @@
+package com.petstore.api.endpoints;
+
+import io.restassured.response.Response;
+import com.petstore.api.client.AsyncApiClient;
+import com.petstore.api.models.User;
+import com.petstore.utils.TestDataRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncUserEndpoint {
+    private static final String USER_ENDPOINT = "/user";
+    private static final String USER_BY_USERNAME = USER_ENDPOINT + "/{username}";
+    private static final String USER_LOGIN = USER_ENDPOINT + "/login";
+    private static final String USER_LOGOUT = USER_ENDPOINT + "/logout";
+
+    private final AsyncApiClient client;
+
+    public AsyncUserEndpoint() {
+        this(new AsyncApiClient());
+    }
+
+    public AsyncUserEndpoint(AsyncApiClient client) {
+        this.client = client;
+    }
+
+    // CREATE
+    public CompletableFuture<Response> createUser(User user) {
+        return client.post(USER_ENDPOINT, user)
+                .thenApply(response -> TestDataRegistry.recordUser(client.getBaseUrl(), user, response));
+    }
+
+    // READ
+    public CompletableFuture<Response> getUserByUsername(String username) {
+        return client.get(USER_BY_USERNAME, Map.of("username", username), Collections.emptyMap());
+    }
+
+    // UPDATE
+    public CompletableFuture<Response> updateUser(String username, User user) {
+        return client.put(USER_BY_USERNAME, Map.of("username", username), user);
+    }
+
+    // DELETE
+    public CompletableFuture<Response> deleteUser(String username) {
+        return client.delete(USER_BY_USERNAME, Map.of("username", username), Collections.emptyMap())
+                .thenApply(response -> TestDataRegistry.forgetUser(client.getBaseUrl(), username, response));
+    }
+
+    // LOGIN/LOGOUT
+    public CompletableFuture<Response> loginUser(String username, String password) {
+        Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("username", username);
+        queryParams.put("password", password);
+        return client.get(USER_LOGIN, Collections.emptyMap(), queryParams);
+    }
+
+    public CompletableFuture<Response> logoutUser() {
+        return client.get(USER_LOGOUT, Collections.emptyMap(), Collections.emptyMap());
+    }
+}
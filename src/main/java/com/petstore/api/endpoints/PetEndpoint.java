@@ -1,9 +1,22 @@
 package com.petstore.api.endpoints;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import com.petstore.api.models.Pet;
+import com.petstore.api.config.JsonMapperProvider;
 import com.petstore.api.config.TestConfig;
+import com.petstore.utils.ConcurrentExecutor;
+import com.petstore.utils.TestDataRegistry;
+import com.petstore.utils.UnexpectedStatusException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import static io.restassured.RestAssured.given;
 
 public class PetEndpoint {
@@ -13,18 +26,39 @@ public class PetEndpoint {
     private static final String PET_UPLOAD_IMAGE = PET_BY_ID + "/uploadImage";
 
     private RequestSpecification requestSpec;
+    private final String baseUri;
 
     public PetEndpoint() {
-        this.requestSpec = TestConfig.getRequestSpec();
+        this(TestConfig.getRequestSpec());
+    }
+
+    public PetEndpoint(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+        this.baseUri = TestDataRegistry.baseUriOf(requestSpec);
     }
 
     // CREATE
     public Response createPet(Pet pet) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .body(pet)
                 .when()
                 .post(PET_ENDPOINT);
+        return TestDataRegistry.recordPet(baseUri, pet, response);
+    }
+
+    // Pre-serialized body, e.g. from a BodyTemplate; petId is what the body carries, for cleanup
+    public Response createPet(Long petId, byte[] body) {
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .post(PET_ENDPOINT);
+        return TestDataRegistry.recordPet(baseUri, petId, response);
+    }
+
+    public List<Response> createPetsConcurrently(List<Pet> pets) {
+        return ConcurrentExecutor.invokeAll(pets, this::createPet);
     }
 
     // READ
@@ -44,6 +78,43 @@ public class PetEndpoint {
                 .get(PET_BY_STATUS);
     }
 
+    /**
+     * Pets parsed one at a time from the response body; close the stream (try-with-resources) when
+     * done. The request goes through the spec's filters like any other, but bypasses the response
+     * cache; bodies past {@code api.pool.buffer.max.bytes} stay on the socket until read, so memory
+     * stays flat and closing after an early stop drops the rest of the body.
+     *
+     * @throws UnexpectedStatusException when the server does not answer 200
+     */
+    public Stream<Pet> streamPetsByStatus(String status) {
+        // no-store keeps a response cache from reading the whole body before it is streamed
+        Response response = given()
+                .spec(requestSpec)
+                .header("Cache-Control", "no-store")
+                .queryParam("status", status)
+                .when()
+                .get(PET_BY_STATUS);
+        if (response.getStatusCode() != 200) {
+            throw new UnexpectedStatusException("GET " + PET_BY_STATUS, response.getStatusCode(), response.asString());
+        }
+        InputStream body = response.getBody().asInputStream();
+        try {
+            MappingIterator<Pet> pets = JsonMapperProvider.getObjectMapper().readerFor(Pet.class)
+                    .readValues(body != null ? body : InputStream.nullInputStream());
+            // Elements of a JSON array may be null, so no NONNULL
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pets, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            pets.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read GET " + PET_BY_STATUS + " response", e);
+        }
+    }
+
     // UPDATE
     public Response updatePet(Pet pet) {
         return given()
@@ -53,6 +124,14 @@ public class PetEndpoint {
                 .put(PET_ENDPOINT);
     }
 
+    public Response updatePet(byte[] body) {
+        return given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .put(PET_ENDPOINT);
+    }
+
     public Response updatePetWithFormData(Long petId, String name, String status) {
         return given()
                 .spec(requestSpec)
@@ -65,19 +144,25 @@ public class PetEndpoint {
 
     // DELETE
     public Response deletePet(Long petId) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .pathParam("petId", petId)
                 .when()
                 .delete(PET_BY_ID);
+        return TestDataRegistry.forgetPet(baseUri, petId, response);
+    }
+
+    public List<Response> deletePetsConcurrently(List<Long> petIds) {
+        return ConcurrentExecutor.invokeAll(petIds, this::deletePet);
     }
 
     public Response deletePetWithApiKey(Long petId, String apiKey) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .header("api_key", apiKey)
                 .pathParam("petId", petId)
                 .when()
                 .delete(PET_BY_ID);
+        return TestDataRegistry.forgetPet(baseUri, petId, response);
     }
 }
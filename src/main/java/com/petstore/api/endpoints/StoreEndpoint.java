@@ -4,6 +4,7 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import com.petstore.api.models.Order;
 import com.petstore.api.config.TestConfig;
+import com.petstore.utils.TestDataRegistry;
 import static io.restassured.RestAssured.given;
 
 public class StoreEndpoint {
@@ -13,18 +14,35 @@ public class StoreEndpoint {
     private static final String INVENTORY = STORE_ENDPOINT + "/inventory";
 
     private RequestSpecification requestSpec;
+    private final String baseUri;
 
     public StoreEndpoint() {
-        this.requestSpec = TestConfig.getRequestSpec();
+        this(TestConfig.getRequestSpec());
+    }
+
+    public StoreEndpoint(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+        this.baseUri = TestDataRegistry.baseUriOf(requestSpec);
     }
 
     // CREATE
     public Response placeOrder(Order order) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .body(order)
                 .when()
                 .post(ORDER_ENDPOINT);
+        return TestDataRegistry.recordOrder(baseUri, order, response);
+    }
+
+    // Pre-serialized body, e.g. from a BodyTemplate; orderId is what the body carries, for cleanup
+    public Response placeOrder(Long orderId, byte[] body) {
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .post(ORDER_ENDPOINT);
+        return TestDataRegistry.recordOrder(baseUri, orderId, response);
     }
 
     // READ
@@ -45,10 +63,11 @@ public class StoreEndpoint {
 
     // DELETE
     public Response deleteOrder(Long orderId) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .pathParam("orderId", orderId)
                 .when()
                 .delete(ORDER_BY_ID);
+        return TestDataRegistry.forgetOrder(baseUri, orderId, response);
     }
 }
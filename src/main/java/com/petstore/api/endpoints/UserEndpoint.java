@@ -3,7 +3,11 @@ package com.petstore.api.endpoints;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import com.petstore.api.models.User;
+import com.petstore.api.config.ApiConfig;
 import com.petstore.api.config.TestConfig;
+import com.petstore.utils.ConcurrentExecutor;
+import com.petstore.utils.TestDataRegistry;
+import java.util.List;
 import static io.restassured.RestAssured.given;
 
 public class UserEndpoint {
@@ -11,20 +15,67 @@ public class UserEndpoint {
     private static final String USER_BY_USERNAME = USER_ENDPOINT + "/{username}";
     private static final String USER_LOGIN = USER_ENDPOINT + "/login";
     private static final String USER_LOGOUT = USER_ENDPOINT + "/logout";
+    private static final String USER_CREATE_WITH_ARRAY = USER_ENDPOINT + "/createWithArray";
+    private static final String USER_CREATE_WITH_LIST = USER_ENDPOINT + "/createWithList";
 
     private RequestSpecification requestSpec;
+    private final String baseUri;
 
     public UserEndpoint() {
-        this.requestSpec = TestConfig.getRequestSpec();
+        this(TestConfig.getRequestSpec());
+    }
+
+    public UserEndpoint(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+        this.baseUri = TestDataRegistry.baseUriOf(requestSpec);
     }
 
     // CREATE
     public Response createUser(User user) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .body(user)
                 .when()
                 .post(USER_ENDPOINT);
+        return TestDataRegistry.recordUser(baseUri, user, response);
+    }
+
+    // Pre-serialized body, e.g. from a BodyTemplate; username is what the body carries, for cleanup
+    public Response createUser(String username, byte[] body) {
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .post(USER_ENDPOINT);
+        return TestDataRegistry.recordUser(baseUri, username, response);
+    }
+
+    public Response createUsersWithArray(List<User> users) {
+        Response response = given()
+                .spec(requestSpec)
+                .body(users)
+                .when()
+                .post(USER_CREATE_WITH_ARRAY);
+        return TestDataRegistry.recordUsers(baseUri, users, response);
+    }
+
+    public Response createUsersWithList(List<User> users) {
+        Response response = given()
+                .spec(requestSpec)
+                .body(users)
+                .when()
+                .post(USER_CREATE_WITH_LIST);
+        return TestDataRegistry.recordUsers(baseUri, users, response);
+    }
+
+    // One request per chunk of api.batch.size users, api.batch.parallelism chunks in flight
+    public List<Response> createUsersInBatches(List<User> users) {
+        return createUsersInBatches(users, ApiConfig.getBatchSize(), ApiConfig.getBatchParallelism());
+    }
+
+    public List<Response> createUsersInBatches(List<User> users, int batchSize, int parallelism) {
+        return ConcurrentExecutor.invokeAll(
+                ConcurrentExecutor.partition(users, batchSize), this::createUsersWithList, parallelism);
     }
 
     // READ
@@ -48,11 +99,12 @@ public class UserEndpoint {
 
     // DELETE
     public Response deleteUser(String username) {
-        return given()
+        Response response = given()
                 .spec(requestSpec)
                 .pathParam("username", username)
                 .when()
                 .delete(USER_BY_USERNAME);
+        return TestDataRegistry.forgetUser(baseUri, username, response);
     }
 
     // LOGIN/LOGOUT
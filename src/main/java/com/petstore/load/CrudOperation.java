@@ -0,0 +1,131 @@
+package com.petstore.load;
+
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import io.restassured.response.Response;
+
+/**
+ * Single-request CRUD operations over the Pet, Store and User endpoints, addressable by name
+ * so that an {@link OperationMix} can be declared in config.properties.
+ */
+public enum CrudOperation implements LoadOperation {
+    CREATE_PET("createPet") {
+        @Override
+        public Response execute(LoadContext context) {
+            Pet pet = context.newPet();
+            Response response = context.pets().createPet(pet.getId(), context.petBody(pet));
+            if (isSuccess(response)) {
+                context.recordPetId(pet.getId());
+            }
+            return response;
+        }
+    },
+    GET_PET("getPet") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.pets().getPetById(context.randomPetId());
+        }
+    },
+    FIND_PETS_BY_STATUS("findPetsByStatus") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.pets().getPetsByStatus(Pet.Status.AVAILABLE.getValue());
+        }
+    },
+    UPDATE_PET("updatePet") {
+        @Override
+        public Response execute(LoadContext context) {
+            Pet pet = context.newPet();
+            return context.pets().updatePet(
+                    context.petBody(context.randomPetId(), pet.getName(), Pet.Status.PENDING.getValue()));
+        }
+    },
+    DELETE_PET("deletePet") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.pets().deletePet(context.randomPetId());
+        }
+    },
+    PLACE_ORDER("placeOrder") {
+        @Override
+        public Response execute(LoadContext context) {
+            Order order = context.newOrder();
+            Response response = context.store().placeOrder(order.getId(), context.orderBody(order));
+            if (isSuccess(response)) {
+                context.recordOrderId(order.getId());
+            }
+            return response;
+        }
+    },
+    GET_ORDER("getOrder") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.store().getOrderById(context.randomOrderId());
+        }
+    },
+    GET_INVENTORY("getInventory") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.store().getInventory();
+        }
+    },
+    DELETE_ORDER("deleteOrder") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.store().deleteOrder(context.randomOrderId());
+        }
+    },
+    CREATE_USER("createUser") {
+        @Override
+        public Response execute(LoadContext context) {
+            User user = context.newUser();
+            Response response = context.users().createUser(user.getUsername(), context.userBody(user));
+            if (isSuccess(response)) {
+                context.recordUsername(user.getUsername());
+            }
+            return response;
+        }
+    },
+    GET_USER("getUser") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.users().getUserByUsername(context.randomUsername());
+        }
+    },
+    LOGIN_USER("loginUser") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.users().loginUser(context.randomUsername(), "password123");
+        }
+    },
+    DELETE_USER("deleteUser") {
+        @Override
+        public Response execute(LoadContext context) {
+            return context.users().deleteUser(context.randomUsername());
+        }
+    };
+
+    private final String operationName;
+
+    CrudOperation(String operationName) {
+        this.operationName = operationName;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public static CrudOperation fromName(String name) {
+        for (CrudOperation operation : values()) {
+            if (operation.operationName.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load operation: " + name);
+    }
+
+    private static boolean isSuccess(Response response) {
+        return response.getStatusCode() < 400;
+    }
+}
@@ -0,0 +1,77 @@
+package com.petstore.load;
+
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ready-made {@link Scenario}s modelled on production traffic. Each journey deletes what it
+ * creates in cleanup steps, which run even when a step fails, so it can loop for as long as a
+ * run lasts.
+ */
+public final class Journeys {
+    public static final String SHOPPER = "shopper";
+
+    private Journeys() {
+    }
+
+    public static Scenario shopper() {
+        return shopper(ThinkTime.exponential(Duration.ofSeconds(2), Duration.ofSeconds(10)));
+    }
+
+    /**
+     * Signs up and logs in, browses available pets, then either orders the first one and checks
+     * the inventory (70%) or only checks the inventory (30%), and logs out. Cleanup deletes the
+     * order, if one was placed, and closes the account. With no pet available, e.g. on a fresh
+     * backend, the browse step fails and the journey ends there.
+     */
+    public static Scenario shopper(ThinkTime thinkTime) {
+        return Scenario.builder(SHOPPER)
+                .exec("createUser", (context, session) -> {
+                    User user = context.newUser();
+                    Response response = context.users().createUser(user.getUsername(), context.userBody(user));
+                    // Only set once the account exists, so cleanup does not delete one that never was
+                    if (response.getStatusCode() < 400) {
+                        session.set("username", user.getUsername()).set("password", user.getPassword());
+                    }
+                    return response;
+                })
+                .exec("loginUser", (context, session) ->
+                        context.users().loginUser(session.getString("username"), session.getString("password")))
+                .pause(thinkTime)
+                .exec("findPetsByStatus", (context, session) ->
+                        context.pets().getPetsByStatus(Pet.Status.AVAILABLE.getValue()))
+                .saveAs("petId", Journeys::firstPetId)
+                .pause(thinkTime)
+                .oneOf(
+                        Scenario.branch(70, Scenario.chain()
+                                .exec("placeOrder", (context, session) -> {
+                                    Order order = context.newOrder();
+                                    order.setPetId(session.getLong("petId"));
+                                    return context.store().placeOrder(order.getId(), context.orderBody(order));
+                                })
+                                .saveAs("orderId", response -> response.path("id"))
+                                .exec("getInventory", (context, session) -> context.store().getInventory())),
+                        Scenario.branch(30, Scenario.chain()
+                                .exec("getInventory", (context, session) -> context.store().getInventory())))
+                .pause(thinkTime)
+                .exec("logoutUser", (context, session) -> context.users().logoutUser())
+                .cleanup("deleteOrder", "orderId", (context, session) ->
+                        context.store().deleteOrder(session.getLong("orderId")))
+                .cleanup("deleteUser", "username", (context, session) ->
+                        context.users().deleteUser(session.getString("username")))
+                .build();
+    }
+
+    // An empty result is valid, so it is reported as a missing value rather than read past
+    private static Long firstPetId(Response response) {
+        List<Object> ids = response.jsonPath().getList("id");
+        if (ids == null || ids.isEmpty() || !(ids.get(0) instanceof Number)) {
+            return null;
+        }
+        return ((Number) ids.get(0)).longValue();
+    }
+}
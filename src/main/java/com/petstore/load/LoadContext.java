@@ -0,0 +1,181 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.endpoints.StoreEndpoint;
+import com.petstore.api.endpoints.UserEndpoint;
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import com.petstore.utils.BodyTemplate;
+import com.petstore.utils.TestDataGenerator;
+import com.petstore.utils.TestDataPool;
+import io.restassured.specification.RequestSpecification;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Endpoints shared by all load workers, plus small rings of recently created ids so that
+ * read/update/delete operations target entities that actually exist.
+ */
+public class LoadContext {
+    private static final int RING_SIZE = 1024;
+    private static final long FALLBACK_ID_MIN = 100000;
+    private static final long FALLBACK_ID_MAX = 999999;
+
+    private final PetEndpoint petEndpoint;
+    private final StoreEndpoint storeEndpoint;
+    private final UserEndpoint userEndpoint;
+    private final long dataSeed;
+    private final TestDataPool<Pet> petPool;
+    private final TestDataPool<Order> orderPool;
+    private final TestDataPool<User> userPool;
+    private final BodyTemplate petBody;
+    private final BodyTemplate orderBody;
+    private final BodyTemplate userBody;
+
+    private final AtomicLongArray petIds = new AtomicLongArray(RING_SIZE);
+    private final AtomicLongArray orderIds = new AtomicLongArray(RING_SIZE);
+    private final AtomicReferenceArray<String> usernames = new AtomicReferenceArray<>(RING_SIZE);
+    private final AtomicInteger petCursor = new AtomicInteger();
+    private final AtomicInteger orderCursor = new AtomicInteger();
+    private final AtomicInteger userCursor = new AtomicInteger();
+
+    public LoadContext(String baseUrl) {
+        this(TestConfig.getLoadRequestSpec(baseUrl));
+    }
+
+    public LoadContext(RequestSpecification requestSpec) {
+        this(requestSpec, System.nanoTime());
+    }
+
+    /**
+     * @param dataSeed seed for the pet, order and user pools; the same seed replays the same data
+     */
+    public LoadContext(RequestSpecification requestSpec, long dataSeed) {
+        this(requestSpec, dataSeed, null);
+    }
+
+    /**
+     * @param dataSeed seed for the pet, order and user pools; the same seed replays the same data
+     * @param idBlock  block of 10^12 ids (1-999) the pools draw from, e.g. one assigned to each
+     *                 distributed worker; {@code null} reserves ids from the JVM-wide sequence
+     */
+    public LoadContext(RequestSpecification requestSpec, long dataSeed, Long idBlock) {
+        this.petEndpoint = new PetEndpoint(requestSpec);
+        this.storeEndpoint = new StoreEndpoint(requestSpec);
+        this.userEndpoint = new UserEndpoint(requestSpec);
+        this.dataSeed = dataSeed;
+        long poolSize = ApiConfig.getLoadDataPoolSize();
+        long preload = ApiConfig.getLoadDataPreload();
+        if (idBlock != null) {
+            // Consecutive ranges within the block, one per pool
+            long firstId = TestDataGenerator.firstIdOfBlock(idBlock);
+            this.petPool = TestDataPool.pets(poolSize, dataSeed, firstId).preload(preload);
+            this.orderPool = TestDataPool.orders(poolSize, dataSeed, firstId + poolSize).preload(preload);
+            this.userPool = TestDataPool.users(poolSize, dataSeed, firstId + 2 * poolSize).preload(preload);
+        } else {
+            this.petPool = TestDataPool.pets(poolSize, dataSeed).preload(preload);
+            this.orderPool = TestDataPool.orders(poolSize, dataSeed).preload(preload);
+            this.userPool = TestDataPool.users(poolSize, dataSeed).preload(preload);
+        }
+        this.petBody = BodyTemplate.of(TestDataGenerator.createRandomPet(), "id", "name", "status");
+        this.orderBody = BodyTemplate.of(TestDataGenerator.createRandomOrder(), "id", "petId", "quantity");
+        this.userBody = BodyTemplate.of(TestDataGenerator.createRandomUser(), "id", "username", "email");
+    }
+
+    public PetEndpoint pets() {
+        return petEndpoint;
+    }
+
+    public StoreEndpoint store() {
+        return storeEndpoint;
+    }
+
+    public UserEndpoint users() {
+        return userEndpoint;
+    }
+
+    public long getDataSeed() {
+        return dataSeed;
+    }
+
+    // Fresh entities with unique ids, handed out lock-free from pre-generated chunks
+    public Pet newPet() {
+        return petPool.next();
+    }
+
+    public Order newOrder() {
+        return orderPool.next();
+    }
+
+    public User newUser() {
+        return userPool.next();
+    }
+
+    // Request bodies rendered from templates: the entity's identifying fields vary, the rest is
+    // serialized once per context
+    public byte[] petBody(Pet pet) {
+        return petBody(pet.getId(), pet.getName(), pet.getStatus());
+    }
+
+    public byte[] petBody(long id, String name, String status) {
+        return petBody.render(id, name, status);
+    }
+
+    public byte[] orderBody(Order order) {
+        return orderBody.render(order.getId(), order.getPetId(), order.getQuantity());
+    }
+
+    public byte[] userBody(User user) {
+        return userBody.render(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    public void recordPetId(Long id) {
+        if (id != null) {
+            petIds.set(Math.floorMod(petCursor.getAndIncrement(), RING_SIZE), id);
+        }
+    }
+
+    public void recordOrderId(Long id) {
+        if (id != null) {
+            orderIds.set(Math.floorMod(orderCursor.getAndIncrement(), RING_SIZE), id);
+        }
+    }
+
+    public void recordUsername(String username) {
+        if (username != null) {
+            usernames.set(Math.floorMod(userCursor.getAndIncrement(), RING_SIZE), username);
+        }
+    }
+
+    public long randomPetId() {
+        return randomId(petIds, petCursor);
+    }
+
+    public long randomOrderId() {
+        return randomId(orderIds, orderCursor);
+    }
+
+    public String randomUsername() {
+        int filled = Math.min(userCursor.get(), RING_SIZE);
+        if (filled == 0) {
+            return "user" + ThreadLocalRandom.current().nextLong(FALLBACK_ID_MIN, FALLBACK_ID_MAX);
+        }
+        String username = usernames.get(ThreadLocalRandom.current().nextInt(filled));
+        return username != null ? username : "user" + ThreadLocalRandom.current().nextLong(FALLBACK_ID_MIN, FALLBACK_ID_MAX);
+    }
+
+    private static long randomId(AtomicLongArray ring, AtomicInteger cursor) {
+        int filled = Math.min(cursor.get(), RING_SIZE);
+        if (filled == 0) {
+            return ThreadLocalRandom.current().nextLong(FALLBACK_ID_MIN, FALLBACK_ID_MAX);
+        }
+        long id = ring.get(ThreadLocalRandom.current().nextInt(filled));
+        // A slot can be claimed but not yet written by a concurrent recorder
+        return id != 0 ? id : ThreadLocalRandom.current().nextLong(FALLBACK_ID_MIN, FALLBACK_ID_MAX);
+    }
+}
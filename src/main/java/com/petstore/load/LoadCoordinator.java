@@ -0,0 +1,287 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.ApiMetrics;
+import com.petstore.utils.TestDataGenerator;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a {@link LoadProfile} across {@link LoadWorker} JVMs so that the load is not limited by
+ * one machine's CPU or NIC. Each worker gets an equal share of the target rate and in-flight
+ * limit, its own block of entity ids (consecutive from the profile's, if set) and data seed, and
+ * the same start instant translated into its own clock, so that all ramp-ups run in lockstep. The
+ * workers' HdrHistograms are merged losslessly into one {@link LoadReport}.
+ *
+ * <p>Clocks are synced NTP-style: of {@value #SYNC_ROUNDS} round trips, the one with the
+ * shortest RTT gives the worker's offset, accurate to half that RTT.
+ */
+public class LoadCoordinator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LoadCoordinator.class);
+    private static final int SYNC_ROUNDS = 8;
+    private static final long DRAIN_MARGIN_MILLIS = TimeUnit.SECONDS.toMillis(90);
+
+    /**
+     * A connected worker: its clock offset from the coordinator and, after a run, its report.
+     */
+    @Getter
+    public static class Worker {
+        private final String workerId;
+        private final WorkerConnection connection;
+        private long clockOffsetMicros;
+        private long roundTripMicros = Long.MAX_VALUE;
+        private LoadReport report;
+
+        Worker(String workerId, WorkerConnection connection) {
+            this.workerId = workerId;
+            this.connection = connection;
+        }
+
+        // When the worker sent its first request, on the coordinator's clock
+        public long getStartEpochMicros() {
+            return report.getStartEpochMicros() - clockOffsetMicros;
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final int workerCount;
+    private final List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Binds right away, so workers may start connecting before {@link #run} is called.
+     *
+     * @param port port to listen on, or 0 for a random free port
+     */
+    public LoadCoordinator(int port, int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        this.workerCount = workerCount;
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to listen on port " + port, e);
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<Worker> getWorkers() {
+        return Collections.unmodifiableList(workers);
+    }
+
+    /**
+     * Spread between the earliest and the latest worker's first request, on the coordinator's clock.
+     */
+    public long getStartSkewMicros() {
+        long first = workers.stream().mapToLong(Worker::getStartEpochMicros).min().orElse(0);
+        long last = workers.stream().mapToLong(Worker::getStartEpochMicros).max().orElse(0);
+        return last - first;
+    }
+
+    /**
+     * Waits for all workers, runs the profile on them and merges their reports.
+     *
+     * @param startDelayMillis time from the start message to the first request; must cover the
+     *                         workers' warm-up
+     */
+    public LoadReport run(LoadProfile profile, long connectTimeoutMillis, long startDelayMillis) {
+        if (profile.getTargetRps() < workerCount) {
+            throw new IllegalArgumentException("Target rps must be at least the number of workers");
+        }
+        try {
+            acceptWorkers(connectTimeoutMillis);
+            for (Worker worker : workers) {
+                syncClock(worker);
+            }
+            start(profile, startDelayMillis);
+            long timeout = startDelayMillis + profile.getRampUp().toMillis() + profile.getDuration().toMillis()
+                    + DRAIN_MARGIN_MILLIS;
+            for (Worker worker : workers) {
+                worker.connection.setReadTimeout(timeout);
+                worker.report = toReport(worker.connection.receive(WorkerMessage.Type.RESULT));
+                logger.info("Worker {} finished: {}", worker.workerId, worker.report.summary());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Distributed load run failed", e);
+        }
+
+        LoadReport report = merge(profile.getTargetRps());
+        logger.info("Distributed load run finished on {} workers (start skew {} us): {}",
+                workerCount, getStartSkewMicros(), report.summary());
+        return report;
+    }
+
+    private void acceptWorkers(long connectTimeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + connectTimeoutMillis;
+        while (workers.size() < workerCount) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SocketTimeoutException(
+                        "Only " + workers.size() + " of " + workerCount + " workers connected");
+            }
+            serverSocket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, remaining));
+            WorkerConnection connection = new WorkerConnection(serverSocket.accept());
+            connection.setReadTimeout(connectTimeoutMillis);
+            String workerId = connection.receive(WorkerMessage.Type.HELLO).getWorkerId();
+            workers.add(new Worker(workerId, connection));
+            logger.info("Worker {} connected ({} of {})", workerId, workers.size(), workerCount);
+        }
+    }
+
+    private void syncClock(Worker worker) throws IOException {
+        WorkerMessage sync = WorkerMessage.builder().type(WorkerMessage.Type.SYNC).build();
+        for (int i = 0; i < SYNC_ROUNDS; i++) {
+            long sent = WorkerConnection.epochMicros();
+            worker.connection.send(sync);
+            long workerClock = worker.connection.receive(WorkerMessage.Type.CLOCK).getEpochMicros();
+            long received = WorkerConnection.epochMicros();
+            long roundTrip = received - sent;
+            if (roundTrip < worker.roundTripMicros) {
+                worker.roundTripMicros = roundTrip;
+                worker.clockOffsetMicros = workerClock - (sent + received) / 2;
+            }
+        }
+        logger.info("Worker {} clock offset {} us (+/- {} us)",
+                worker.workerId, worker.clockOffsetMicros, worker.roundTripMicros / 2);
+    }
+
+    private void start(LoadProfile profile, long startDelayMillis) throws IOException {
+        long startAt = WorkerConnection.epochMicros() + TimeUnit.MILLISECONDS.toMicros(startDelayMillis);
+        long seed = profile.getDataSeed() != null ? profile.getDataSeed() : System.nanoTime();
+        int firstBlock = profile.getIdBlock() != null
+                ? Math.toIntExact(TestDataGenerator.requireIdBlock(profile.getIdBlock()))
+                : ThreadLocalRandom.current().nextInt(1, TestDataGenerator.ID_BLOCKS - workerCount + 2);
+        TestDataGenerator.requireIdBlock(firstBlock + workerCount - 1);
+        for (int i = 0; i < workerCount; i++) {
+            Worker worker = workers.get(i);
+            worker.connection.send(WorkerMessage.builder()
+                    .type(WorkerMessage.Type.START)
+                    .idBlock(firstBlock + i)
+                    .startAtEpochMicros(startAt + worker.clockOffsetMicros)
+                    .baseUrl(profile.getBaseUrl())
+                    .targetRps(share(profile.getTargetRps(), i))
+                    .rampUpMillis(profile.getRampUp().toMillis())
+                    .durationMillis(profile.getDuration().toMillis())
+                    .maxInFlight(Math.max(1, share(profile.getMaxInFlight(), i)))
+                    .mix(profile.getMix().toString())
+                    .dataSeed(seed + i)
+                    .build());
+        }
+    }
+
+    // Equal shares; the first (total % workers) workers take one extra
+    private int share(int total, int workerIndex) {
+        return total / workerCount + (workerIndex < total % workerCount ? 1 : 0);
+    }
+
+    private LoadReport merge(int targetRps) {
+        Histogram latency = new Histogram(3);
+        Histogram correctedLatency = new Histogram(3);
+        Map<String, Long> operationCounts = new TreeMap<>();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        long scheduled = 0;
+        long completed = 0;
+        long errors = 0;
+        long queued = 0;
+        long elapsed = 0;
+        long start = Long.MAX_VALUE;
+        for (Worker worker : workers) {
+            LoadReport report = worker.report;
+            latency.add(report.getLatency());
+            correctedLatency.add(report.getCorrectedLatency());
+            report.getOperationCounts().forEach((key, count) -> operationCounts.merge(key, count, Long::sum));
+            report.getStatusCounts().forEach((key, count) -> statusCounts.merge(key, count, Long::sum));
+            scheduled += report.getScheduled();
+            completed += report.getCompleted();
+            errors += report.getErrors();
+            queued += report.getQueued();
+            elapsed = Math.max(elapsed, report.getElapsedNanos());
+            start = Math.min(start, worker.getStartEpochMicros());
+        }
+        return LoadReport.builder()
+                .targetRps(targetRps)
+                .scheduled(scheduled)
+                .completed(completed)
+                .errors(errors)
+                .queued(queued)
+                .elapsedNanos(elapsed)
+                .startEpochMicros(start)
+                .latency(latency)
+                .correctedLatency(correctedLatency)
+                .operationCounts(operationCounts)
+                .statusCounts(statusCounts)
+                .build();
+    }
+
+    private static LoadReport toReport(WorkerMessage result) {
+        return LoadReport.builder()
+                .targetRps(result.getTargetRps())
+                .scheduled(result.getScheduled())
+                .completed(result.getCompleted())
+                .errors(result.getErrors())
+                .queued(result.getQueued())
+                .elapsedNanos(result.getElapsedNanos())
+                .startEpochMicros(result.getStartEpochMicros())
+                .latency(ApiMetrics.decode(result.getHistogram()))
+                .correctedLatency(ApiMetrics.decode(result.getCorrectedHistogram()))
+                .operationCounts(result.getOperationCounts())
+                .statusCounts(result.getStatusCounts())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        for (Worker worker : workers) {
+            try {
+                worker.connection.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close connection to {}: {}", worker.workerId, e.getMessage());
+            }
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close coordinator socket: {}", e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromConfig();
+        try (PetstoreStubServer stub = ApiConfig.isStubEnabled()
+                ? new PetstoreStubServer(ApiConfig.getStubPort()).start()
+                : null;
+             LoadCoordinator coordinator = new LoadCoordinator(
+                     ApiConfig.getDistributedPort(), ApiConfig.getDistributedWorkers())) {
+            if (stub != null) {
+                // Workers may run elsewhere, so the stub is advertised on this host's name
+                profile.setBaseUrl(stub.getBaseUrl().replace("localhost", InetAddress.getLocalHost().getHostName()));
+            }
+            logger.info("Waiting for {} workers on port {}", ApiConfig.getDistributedWorkers(), coordinator.getPort());
+            LoadReport report = coordinator.run(profile, ApiConfig.getDistributedConnectTimeoutMillis(),
+                    ApiConfig.getDistributedStartDelayMillis());
+            System.out.println(report.summary());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.TestDataRegistry;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed arrival schedule (linear ramp-up
+ * to the target rate, then constant), independently of how fast earlier requests complete.
+ * Each request runs on its own virtual thread. When {@code maxInFlight} requests are already
+ * outstanding, the arrival waits for one to finish and later arrivals queue behind it; they are
+ * counted as queued and sent as soon as slots free up, so no arrival goes unmeasured.
+ *
+ * <p>Each request's latency is recorded twice. One value is timed from when its thread sent it.
+ * The other is timed from its intended arrival on the schedule, so it also counts a stalled
+ * scheduler, a carrier thread freed late, or a GC pause, all of which a real user would wait through.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final LoadProfile profile;
+    private final LoadContext context;
+
+    public LoadGenerator(LoadProfile profile) {
+        this(profile, new LoadContext(TestConfig.getLoadRequestSpec(profile.getBaseUrl()),
+                profile.getDataSeed() != null ? profile.getDataSeed() : System.nanoTime(), profile.getIdBlock()));
+    }
+
+    public LoadGenerator(LoadProfile profile, LoadContext context) {
+        if (profile.getTargetRps() <= 0) {
+            throw new IllegalArgumentException("Target rps must be positive");
+        }
+        this.profile = profile;
+        this.context = context;
+    }
+
+    public LoadReport run() {
+        return run(null);
+    }
+
+    /**
+     * @param startAt wall-clock instant the arrival schedule starts at, after warm-up, e.g. one
+     *                agreed by all workers of a distributed run; {@code null} starts right away.
+     *                If warm-up overruns it, the missed arrivals are sent at once so that the
+     *                ramp-up stays aligned with the other workers.
+     */
+    public LoadReport run(Instant startAt) {
+        Histogram latency = new ConcurrentHistogram(3);
+        Histogram correctedLatency = new ConcurrentHistogram(3);
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder queued = new LongAdder();
+        Map<String, LongAdder> operationCounts = new ConcurrentHashMap<>();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("load-worker-", 0).factory());
+        Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+        double rate = profile.getTargetRps();
+        double rampSeconds = profile.getRampUp().toNanos() / 1e9;
+        double totalSeconds = rampSeconds + profile.getDuration().toNanos() / 1e9;
+
+        warmUp();
+        logger.info("Starting load run: {} rps, ramp-up {} s, duration {} s, mix [{}], data seed {}",
+                profile.getTargetRps(), rampSeconds, profile.getDuration().getSeconds(), profile.getMix(),
+                context.getDataSeed());
+
+        long start = startAt == null
+                ? System.nanoTime()
+                : System.nanoTime() + Duration.between(Instant.now(), startAt).toNanos();
+        if (startAt != null && start < System.nanoTime()) {
+            logger.warn("Warm-up overran the agreed start by {} ms; raise load.distributed.start.delay.ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        // Stays at the run's start if nothing is sent, e.g. a zero-length run
+        long firstSend = start;
+        long scheduled = 0;
+        while (true) {
+            double offsetSeconds = intendedOffsetSeconds(scheduled, rate, rampSeconds);
+            if (offsetSeconds >= totalSeconds) {
+                break;
+            }
+            long intendedStart = start + (long) (offsetSeconds * 1e9);
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (scheduled++ == 0) {
+                firstSend = System.nanoTime();
+            }
+
+            // Timed from its intended start like any other, so the wait lands in the corrected latency
+            if (!inFlight.tryAcquire()) {
+                queued.increment();
+                inFlight.acquireUninterruptibly();
+            }
+            OperationMix.Entry entry = profile.getMix().next();
+            executor.execute(() -> {
+                long sendTime = System.nanoTime();
+                boolean success = false;
+                try {
+                    Response response = entry.getOperation().execute(context);
+                    int status = response.getStatusCode();
+                    statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    success = status < 400;
+                } catch (Exception e) {
+                    logger.debug("Load operation {} failed: {}", entry.getName(), e.getMessage());
+                } finally {
+                    long end = System.nanoTime();
+                    latency.recordValue(TimeUnit.NANOSECONDS.toMicros(end - sendTime));
+                    correctedLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(end - intendedStart));
+                    operationCounts.computeIfAbsent(entry.getName(), key -> new LongAdder()).increment();
+                    completed.increment();
+                    if (!success) {
+                        errors.increment();
+                    }
+                    inFlight.release();
+                }
+            });
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Load run did not drain within {} s", DRAIN_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        long end = System.nanoTime();
+        long elapsed = end - start;
+        Instant firstSendTime = Instant.now().minusNanos(end - firstSend);
+
+        LoadReport report = LoadReport.builder()
+                .targetRps(profile.getTargetRps())
+                .scheduled(scheduled)
+                .completed(completed.sum())
+                .errors(errors.sum())
+                .queued(queued.sum())
+                .elapsedNanos(elapsed)
+                .startEpochMicros(ChronoUnit.MICROS.between(Instant.EPOCH, firstSendTime))
+                .latency(latency.copy())
+                .correctedLatency(correctedLatency.copy())
+                .operationCounts(toCounts(operationCounts))
+                .statusCounts(toCounts(statusCounts))
+                .build();
+        logger.info("Load run finished: {}", report.summary());
+        return report;
+    }
+
+    // REST Assured bootstraps Groovy on first use; keep that out of the measured schedule
+    private void warmUp() {
+        for (OperationMix.Entry entry : profile.getMix().getEntries()) {
+            try {
+                entry.getOperation().execute(context);
+            } catch (Exception e) {
+                logger.debug("Warm-up of {} failed: {}", entry.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Offset of the n-th arrival from the start of the run. During ramp-up the rate grows
+     * linearly, so the cumulative count is {@code rate * t^2 / (2 * ramp)}; afterwards it is constant.
+     */
+    static double intendedOffsetSeconds(long n, double rate, double rampSeconds) {
+        double rampArrivals = rate * rampSeconds / 2;
+        if (n < rampArrivals) {
+            return Math.sqrt(2 * n * rampSeconds / rate);
+        }
+        return rampSeconds + (n - rampArrivals) / rate;
+    }
+
+    private static <K> Map<K, Long> toCounts(Map<K, LongAdder> adders) {
+        Map<K, Long> counts = new TreeMap<>();
+        adders.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromConfig();
+        try (PetstoreStubServer stub = ApiConfig.isStubEnabled()
+                ? new PetstoreStubServer(ApiConfig.getStubPort()).start()
+                : null) {
+            if (stub != null) {
+                profile.setBaseUrl(stub.getBaseUrl());
+            }
+            LoadReport report = new LoadGenerator(profile).run();
+            System.out.println(report.summary());
+            // Before the stub, if any, stops
+            TestDataRegistry.cleanup();
+        }
+    }
+}
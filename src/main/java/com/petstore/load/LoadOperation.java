@@ -0,0 +1,9 @@
+package com.petstore.load;
+
+import io.restassured.response.Response;
+
+@FunctionalInterface
+public interface LoadOperation {
+
+    Response execute(LoadContext context);
+}
@@ -0,0 +1,35 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import lombok.Builder;
+import lombok.Data;
+import java.time.Duration;
+
+@Data
+@Builder
+public class LoadProfile {
+    private String baseUrl;
+    private int targetRps;
+    private Duration rampUp;
+    private Duration duration;
+    private int maxInFlight;
+    private OperationMix mix;
+    private Long dataSeed;
+    // Block of 10^12 ids the run's entities are drawn from (load.data.id.block); a distributed run
+    // gives its workers consecutive blocks from this one. Null reserves them from TestDataGenerator's
+    // JVM-wide sequence, or picks random blocks for the workers
+    private Long idBlock;
+
+    public static LoadProfile fromConfig() {
+        return LoadProfile.builder()
+                .baseUrl(ApiConfig.getBaseUrl())
+                .targetRps(ApiConfig.getLoadTargetRps())
+                .rampUp(Duration.ofSeconds(ApiConfig.getLoadRampUpSeconds()))
+                .duration(Duration.ofSeconds(ApiConfig.getLoadDurationSeconds()))
+                .maxInFlight(ApiConfig.getLoadMaxInFlight())
+                .mix(OperationMix.parse(ApiConfig.getLoadMix()))
+                .dataSeed(ApiConfig.getLoadDataSeed())
+                .idBlock(ApiConfig.getLoadDataIdBlock())
+                .build();
+    }
+}
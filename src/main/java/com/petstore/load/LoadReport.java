@@ -0,0 +1,73 @@
+package com.petstore.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a load run. Latencies are recorded in microseconds. {@code latency} is timed from
+ * each request's actual send, {@code correctedLatency} from its intended arrival on the schedule,
+ * which also counts time the client spent stalled (coordinated omission).
+ */
+@Getter
+@Builder
+public class LoadReport {
+    private final int targetRps;
+    private final long scheduled;
+    private final long completed;
+    private final long errors;
+    // Arrivals that found maxInFlight requests outstanding and were sent late
+    private final long queued;
+    private final long elapsedNanos;
+    // Wall clock of the first arrival; for a distributed run, the earliest worker's on the coordinator's clock
+    private final long startEpochMicros;
+    private final Histogram latency;
+    private final Histogram correctedLatency;
+    private final Map<String, Long> operationCounts;
+    private final Map<Integer, Long> statusCounts;
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : completed / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double getErrorRate() {
+        return completed == 0 ? 0 : errors / (double) completed;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    public double getCorrectedPercentileMillis(double percentile) {
+        return correctedLatency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getCorrectedMaxMillis() {
+        return correctedLatency.getMaxValue() / 1000.0;
+    }
+
+    public String summary() {
+        return String.format(
+                "target=%d rps, scheduled=%d, completed=%d, errors=%d (%.2f%%), queued=%d, elapsed=%.1f s, "
+                        + "throughput=%.1f rps, latency ms p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f, "
+                        + "corrected ms p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f, "
+                        + "operations=%s, statuses=%s",
+                targetRps, scheduled, completed, errors, getErrorRate() * 100, queued,
+                elapsedNanos / 1e9, getThroughput(),
+                getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), getMaxMillis(),
+                getCorrectedPercentileMillis(50), getCorrectedPercentileMillis(90), getCorrectedPercentileMillis(99),
+                getCorrectedPercentileMillis(99.9), getCorrectedMaxMillis(), operationCounts, statusCounts);
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
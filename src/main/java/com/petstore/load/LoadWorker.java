@@ -0,0 +1,141 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.utils.ApiMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One JVM's share of a distributed load run: connects to a {@link LoadCoordinator}, answers its
+ * clock probes, runs the {@link LoadGenerator} on the share it is given, starting at the agreed
+ * instant, and sends back its report with the latency histogram encoded losslessly.
+ */
+public class LoadWorker {
+    private static final Logger logger = LoggerFactory.getLogger(LoadWorker.class);
+    private static final long CONNECT_RETRY_MILLIS = 200;
+
+    private final String host;
+    private final int port;
+    private final String workerId;
+
+    public LoadWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.workerId = hostName() + "/" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    /**
+     * Runs until the coordinator has the report.
+     *
+     * @param connectTimeoutMillis how long to keep retrying while the coordinator is not up yet
+     */
+    public void run(long connectTimeoutMillis) throws IOException {
+        try (WorkerConnection connection = new WorkerConnection(connect(connectTimeoutMillis))) {
+            connection.send(WorkerMessage.builder().type(WorkerMessage.Type.HELLO).workerId(workerId).build());
+            WorkerMessage start = answerClockProbes(connection);
+
+            LoadProfile profile = LoadProfile.builder()
+                    .baseUrl(start.getBaseUrl())
+                    .targetRps(start.getTargetRps())
+                    .rampUp(Duration.ofMillis(start.getRampUpMillis()))
+                    .duration(Duration.ofMillis(start.getDurationMillis()))
+                    .maxInFlight(start.getMaxInFlight())
+                    .mix(OperationMix.parse(start.getMix()))
+                    .dataSeed(start.getDataSeed())
+                    // Its own block, so ids never collide across workers
+                    .idBlock(start.getIdBlock() != null ? start.getIdBlock().longValue() : null)
+                    .build();
+            Instant startAt = Instant.EPOCH.plus(start.getStartAtEpochMicros(), ChronoUnit.MICROS);
+            logger.info("Worker {} running {} rps from {}", workerId, profile.getTargetRps(), startAt);
+
+            LoadReport report = new LoadGenerator(profile).run(startAt);
+            connection.send(toResult(report));
+        }
+    }
+
+    private WorkerMessage answerClockProbes(WorkerConnection connection) throws IOException {
+        while (true) {
+            WorkerMessage message = connection.receive(null);
+            if (message.getType() == WorkerMessage.Type.START) {
+                return message;
+            }
+            connection.send(WorkerMessage.builder()
+                    .type(WorkerMessage.Type.CLOCK)
+                    .epochMicros(WorkerConnection.epochMicros())
+                    .build());
+        }
+    }
+
+    private Socket connect(long timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(CONNECT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private WorkerMessage toResult(LoadReport report) {
+        Map<String, Long> operationCounts = new TreeMap<>(report.getOperationCounts());
+        Map<Integer, Long> statusCounts = new TreeMap<>(report.getStatusCounts());
+        return WorkerMessage.builder()
+                .type(WorkerMessage.Type.RESULT)
+                .workerId(workerId)
+                .targetRps(report.getTargetRps())
+                .scheduled(report.getScheduled())
+                .completed(report.getCompleted())
+                .errors(report.getErrors())
+                .queued(report.getQueued())
+                .elapsedNanos(report.getElapsedNanos())
+                .startEpochMicros(report.getStartEpochMicros())
+                .histogram(ApiMetrics.encode(report.getLatency()))
+                .correctedHistogram(ApiMetrics.encode(report.getCorrectedLatency()))
+                .operationCounts(operationCounts)
+                .statusCounts(statusCounts)
+                .build();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "worker";
+        }
+    }
+
+    /**
+     * Usage: {@code LoadWorker [host:port]}, defaulting to {@code load.distributed.coordinator}.
+     */
+    public static void main(String[] args) {
+        String coordinator = args.length > 0 ? args[0] : ApiConfig.getDistributedCoordinator();
+        int colon = coordinator.lastIndexOf(':');
+        LoadWorker worker = new LoadWorker(coordinator.substring(0, colon),
+                Integer.parseInt(coordinator.substring(colon + 1)));
+        try {
+            worker.run(ApiConfig.getDistributedConnectTimeoutMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Worker failed", e);
+        }
+    }
+}
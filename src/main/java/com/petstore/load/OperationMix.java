@@ -0,0 +1,102 @@
+package com.petstore.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted selection of load operations, e.g. {@code createPet:2,getPet:5,getInventory:1}.
+ */
+public class OperationMix {
+
+    public static class Entry {
+        private final String name;
+        private final LoadOperation operation;
+        private final int weight;
+
+        Entry(String name, LoadOperation operation, int weight) {
+            this.name = name;
+            this.operation = operation;
+            this.weight = weight;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LoadOperation getOperation() {
+            return operation;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private int[] cumulativeWeights = new int[0];
+    private int totalWeight;
+
+    public OperationMix add(CrudOperation operation, int weight) {
+        return add(operation.getOperationName(), operation, weight);
+    }
+
+    public OperationMix add(String name, LoadOperation operation, int weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive for operation: " + name);
+        }
+        entries.add(new Entry(name, operation, weight));
+        totalWeight += weight;
+        cumulativeWeights = new int[entries.size()];
+        int sum = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            sum += entries.get(i).weight;
+            cumulativeWeights[i] = sum;
+        }
+        return this;
+    }
+
+    public Entry next() {
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("Operation mix is empty");
+        }
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return entries.get(i);
+            }
+        }
+        return entries.get(entries.size() - 1);
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public static OperationMix parse(String spec) {
+        OperationMix mix = new OperationMix();
+        for (String token : spec.split(",")) {
+            String trimmed = token.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            mix.add(CrudOperation.fromName(parts[0].trim()), weight);
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(entry.name).append(':').append(entry.weight);
+        }
+        return sb.toString();
+    }
+}
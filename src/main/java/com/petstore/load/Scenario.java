@@ -0,0 +1,322 @@
+package com.petstore.load;
+
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A multi-step user journey, run in a loop by each virtual user of a {@link ScenarioRunner}.
+ * Scenarios are immutable and shared by all virtual users; per-user state lives in the
+ * {@link Session}.
+ * <pre>{@code
+ * Scenario.builder("shopper")
+ *         .exec("login", (context, session) -> context.users().loginUser(...))
+ *         .pause(ThinkTime.uniform(Duration.ofSeconds(1), Duration.ofSeconds(3)))
+ *         .exec("findPets", (context, session) -> context.pets().getPetsByStatus("available"))
+ *         .saveAs("petId", response -> response.path("id[0]"))
+ *         .oneOf(Scenario.branch(70, Scenario.chain().exec("placeOrder", ...)),
+ *                Scenario.branch(30, Scenario.chain().exec("getInventory", ...)))
+ *         .cleanup("deleteOrder", "orderId", (context, session) -> context.store().deleteOrder(...))
+ *         .build();
+ * }</pre>
+ * A request step fails on an exception, a status of 400 or above, or a {@code null} extracted
+ * value, and a failed step ends the journey, since later steps usually depend on its values.
+ * Cleanup steps run at the end of every journey, failed or not, so that what it created does not
+ * pile up on the server over a long run.
+ */
+public class Scenario {
+    private static final Logger logger = LoggerFactory.getLogger(Scenario.class);
+
+    /**
+     * One request of a journey.
+     */
+    @FunctionalInterface
+    public interface Request {
+
+        Response send(LoadContext context, Session session);
+    }
+
+    interface Step {
+
+        // false ends the journey
+        boolean run(Session session);
+    }
+
+    private final String name;
+    private final List<Step> steps;
+    private final List<Cleanup> cleanups;
+    private final List<String> stepNames;
+
+    private Scenario(String name, List<Step> steps, List<Cleanup> cleanups) {
+        this.name = name;
+        this.steps = steps;
+        this.cleanups = cleanups;
+        Set<String> names = new LinkedHashSet<>();
+        collectStepNames(steps, names);
+        for (Cleanup cleanup : cleanups) {
+            names.add(cleanup.exec.name);
+        }
+        this.stepNames = List.copyOf(names);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Steps for a {@link #branch}.
+     */
+    public static Builder chain() {
+        return new Builder(null);
+    }
+
+    public static Branch branch(int weight, Builder chain) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Branch weight must be positive");
+        }
+        return new Branch(weight, List.copyOf(chain.steps));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Every request step, in declaration order and cleanup steps last; a name used in several
+    // branches appears once
+    public List<String> getStepNames() {
+        return stepNames;
+    }
+
+    /**
+     * @return whether every step of the journey succeeded, cleanup steps included
+     */
+    boolean run(Session session) {
+        session.startJourney();
+        boolean success = runAll(steps, session);
+        for (Cleanup cleanup : cleanups) {
+            if (session.contains(cleanup.key)) {
+                success &= cleanup.exec.run(session);
+            }
+        }
+        return success;
+    }
+
+    private static boolean runAll(List<Step> steps, Session session) {
+        for (Step step : steps) {
+            if (!step.run(session)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectStepNames(List<Step> steps, Set<String> names) {
+        for (Step step : steps) {
+            if (step instanceof Exec) {
+                names.add(((Exec) step).name);
+            } else if (step instanceof OneOf) {
+                for (Branch branch : ((OneOf) step).branches) {
+                    collectStepNames(branch.steps, names);
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private final String name;
+        private final List<Step> steps = new ArrayList<>();
+        private final List<Cleanup> cleanups = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds a request step; its latency and outcome are reported under {@code stepName}.
+         */
+        public Builder exec(String stepName, Request request) {
+            steps.add(new Exec(stepName, request));
+            return this;
+        }
+
+        /**
+         * Stores a value of the previous request's response in the session under {@code key}.
+         */
+        public Builder saveAs(String key, Function<Response, Object> extractor) {
+            if (steps.isEmpty() || !(steps.get(steps.size() - 1) instanceof Exec)) {
+                throw new IllegalStateException("saveAs must follow exec");
+            }
+            ((Exec) steps.get(steps.size() - 1)).extractors.add(new Extractor(key, extractor));
+            return this;
+        }
+
+        public Builder pause(ThinkTime thinkTime) {
+            steps.add(new Pause(thinkTime));
+            return this;
+        }
+
+        /**
+         * Runs one of the branches, picked at random in proportion to their weights.
+         */
+        public Builder oneOf(Branch... branches) {
+            if (branches.length == 0) {
+                throw new IllegalArgumentException("Need at least one branch");
+            }
+            steps.add(new OneOf(Arrays.asList(branches)));
+            return this;
+        }
+
+        /**
+         * Adds a request step that runs once the journey is over, even if a step failed, provided
+         * the session holds {@code key}, e.g. deleting an order only if one was placed. Cleanup
+         * steps run in the order they were added.
+         */
+        public Builder cleanup(String stepName, String key, Request request) {
+            if (name == null) {
+                throw new IllegalStateException("Cleanup steps belong to the scenario, not a branch");
+            }
+            cleanups.add(new Cleanup(key, new Exec(stepName, request)));
+            return this;
+        }
+
+        public Scenario build() {
+            if (name == null) {
+                throw new IllegalStateException("A chain is built into a branch, not a scenario");
+            }
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Scenario '" + name + "' has no steps");
+            }
+            return new Scenario(name, List.copyOf(steps), List.copyOf(cleanups));
+        }
+    }
+
+    public static final class Branch {
+        private final int weight;
+        private final List<Step> steps;
+
+        private Branch(int weight, List<Step> steps) {
+            this.weight = weight;
+            this.steps = steps;
+        }
+    }
+
+    private static final class Extractor {
+        final String key;
+        final Function<Response, Object> function;
+
+        Extractor(String key, Function<Response, Object> function) {
+            this.key = key;
+            this.function = function;
+        }
+    }
+
+    private static final class Cleanup {
+        final String key;
+        final Exec exec;
+
+        Cleanup(String key, Exec exec) {
+            this.key = key;
+            this.exec = exec;
+        }
+    }
+
+    private static final class Exec implements Step {
+        final String name;
+        final Request request;
+        final List<Extractor> extractors = new ArrayList<>();
+
+        Exec(String name, Request request) {
+            this.name = name;
+            this.request = request;
+        }
+
+        @Override
+        public boolean run(Session session) {
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = request.send(session.getContext(), session);
+            } catch (RuntimeException e) {
+                session.record(name, System.nanoTime() - start, false);
+                logger.debug("Step {} of user {} failed: {}", name, session.getUserId(), e.getMessage());
+                return false;
+            }
+            long nanos = System.nanoTime() - start;
+            boolean success = response.getStatusCode() < 400 && extract(response, session);
+            session.record(name, nanos, success);
+            return success;
+        }
+
+        private boolean extract(Response response, Session session) {
+            for (Extractor extractor : extractors) {
+                Object value;
+                try {
+                    value = extractor.function.apply(response);
+                } catch (RuntimeException e) {
+                    value = null;
+                }
+                if (value == null) {
+                    logger.debug("Step {} of user {} found no value for '{}'", name, session.getUserId(), extractor.key);
+                    return false;
+                }
+                session.set(extractor.key, value);
+            }
+            return true;
+        }
+    }
+
+    private static final class Pause implements Step {
+        final ThinkTime thinkTime;
+
+        Pause(ThinkTime thinkTime) {
+            this.thinkTime = thinkTime;
+        }
+
+        @Override
+        public boolean run(Session session) {
+            long nanos = thinkTime.nextNanos();
+            if (nanos <= 0) {
+                return true;
+            }
+            try {
+                // Parks the virtual thread; its carrier moves on to other users
+                TimeUnit.NANOSECONDS.sleep(nanos);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static final class OneOf implements Step {
+        final List<Branch> branches;
+        final int totalWeight;
+
+        OneOf(List<Branch> branches) {
+            this.branches = Collections.unmodifiableList(branches);
+            this.totalWeight = branches.stream().mapToInt(branch -> branch.weight).sum();
+        }
+
+        @Override
+        public boolean run(Session session) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Branch branch : branches) {
+                pick -= branch.weight;
+                if (pick < 0) {
+                    return runAll(branch.steps, session);
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
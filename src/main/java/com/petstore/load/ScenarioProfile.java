@@ -0,0 +1,26 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import lombok.Builder;
+import lombok.Data;
+import java.time.Duration;
+
+@Data
+@Builder
+public class ScenarioProfile {
+    private String baseUrl;
+    private int virtualUsers;
+    private Duration rampUp;
+    private Duration duration;
+    private Long dataSeed;
+
+    public static ScenarioProfile fromConfig() {
+        return ScenarioProfile.builder()
+                .baseUrl(ApiConfig.getBaseUrl())
+                .virtualUsers(ApiConfig.getScenarioVirtualUsers())
+                .rampUp(Duration.ofSeconds(ApiConfig.getScenarioRampUpSeconds()))
+                .duration(Duration.ofSeconds(ApiConfig.getScenarioDurationSeconds()))
+                .dataSeed(ApiConfig.getLoadDataSeed())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.petstore.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link ScenarioRunner} run: whole journeys, plus one {@link StepStats} per named
+ * step in declaration order.
+ */
+@Getter
+@Builder
+public class ScenarioReport {
+    private final String scenario;
+    private final int virtualUsers;
+    private final int peakActiveUsers;
+    private final long journeys;
+    private final long failedJourneys;
+    private final double journeyP50Millis;
+    private final double journeyP99Millis;
+    private final List<StepStats> steps;
+    private final long elapsedNanos;
+
+    public StepStats getStep(String name) {
+        return steps.stream()
+                .filter(step -> step.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No step named " + name));
+    }
+
+    public double getJourneysPerSecond() {
+        return elapsedNanos == 0 ? 0 : journeys / (elapsedNanos / 1e9);
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "scenario=%s, users=%d (peak active %d), journeys=%d (%.1f/s), failed=%d, "
+                        + "journey p50=%.2f ms, p99=%.2f ms, elapsed=%.1f s",
+                scenario, virtualUsers, peakActiveUsers, journeys, getJourneysPerSecond(), failedJourneys,
+                journeyP50Millis, journeyP99Millis, elapsedNanos / 1e9));
+        for (StepStats step : steps) {
+            sb.append(System.lineSeparator()).append("  ").append(step.summary());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,180 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.TestDataRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed-model run of a {@link Scenario}: each virtual user is a virtual thread that loops the
+ * journey, think times included, until the duration is up. Users start evenly spread over the
+ * ramp-up, which doubles as the warm-up. A user blocked on a request or a pause holds no carrier
+ * thread, so tens of thousands of users cost little more than their sessions and stacks.
+ *
+ * <p>A journey in progress at the deadline runs to completion, so journeys that clean up after
+ * themselves always do.
+ */
+public class ScenarioRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioRunner.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long DRAIN_TIMEOUT_SECONDS = 120;
+
+    private final Scenario scenario;
+    private final ScenarioProfile profile;
+    private final LoadContext context;
+
+    // Built up front and read-only afterwards, so lookups need no locking
+    private final Map<String, StepMetrics> steps = new LinkedHashMap<>();
+    private final Histogram journeyLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder failedJourneys = new LongAdder();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakActiveUsers = new AtomicInteger();
+
+    public ScenarioRunner(Scenario scenario, ScenarioProfile profile) {
+        this(scenario, profile, new LoadContext(TestConfig.getLoadRequestSpec(profile.getBaseUrl()),
+                profile.getDataSeed() != null ? profile.getDataSeed() : System.nanoTime()));
+    }
+
+    public ScenarioRunner(Scenario scenario, ScenarioProfile profile, LoadContext context) {
+        if (profile.getVirtualUsers() <= 0) {
+            throw new IllegalArgumentException("Need at least one virtual user");
+        }
+        this.scenario = scenario;
+        this.profile = profile;
+        this.context = context;
+        for (String step : scenario.getStepNames()) {
+            steps.put(step, new StepMetrics());
+        }
+    }
+
+    public ScenarioReport run() {
+        logger.info("Starting scenario {}: {} virtual users, ramp-up {} s, duration {} s, data seed {}",
+                scenario.getName(), profile.getVirtualUsers(), profile.getRampUp().getSeconds(),
+                profile.getDuration().getSeconds(), context.getDataSeed());
+
+        long start = System.nanoTime();
+        long deadline = start + profile.getRampUp().toNanos() + profile.getDuration().toNanos();
+        long rampUpNanos = profile.getRampUp().toNanos();
+        ExecutorService users = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("vu-", 0).factory());
+        for (int i = 0; i < profile.getVirtualUsers(); i++) {
+            Session session = new Session(i, context, this::record);
+            long startAt = start + rampUpNanos * i / profile.getVirtualUsers();
+            users.execute(() -> loop(session, startAt, deadline));
+        }
+        users.shutdown();
+        drain(users);
+
+        ScenarioReport report = report(System.nanoTime() - start);
+        logger.info("Scenario finished: {}", report.summary());
+        return report;
+    }
+
+    private void loop(Session session, long startAt, long deadline) {
+        for (long wait = startAt - System.nanoTime(); wait > 0; wait = startAt - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+        peakActiveUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max);
+        try {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                long journeyStart = System.nanoTime();
+                boolean completed = scenario.run(session);
+                journeyLatency.recordValue(micros(System.nanoTime() - journeyStart));
+                if (!completed) {
+                    failedJourneys.increment();
+                }
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    private void record(String step, long nanos, boolean success) {
+        StepMetrics metrics = steps.get(step);
+        metrics.latency.recordValue(micros(nanos));
+        if (!success) {
+            metrics.errors.increment();
+        }
+    }
+
+    private ScenarioReport report(long elapsedNanos) {
+        List<StepStats> stats = new ArrayList<>();
+        steps.forEach((name, metrics) -> stats.add(StepStats.builder()
+                .name(name)
+                .count(metrics.latency.getTotalCount())
+                .errors(metrics.errors.sum())
+                .meanMillis(metrics.latency.getMean() / 1000.0)
+                .p50Millis(millis(metrics.latency.getValueAtPercentile(50)))
+                .p95Millis(millis(metrics.latency.getValueAtPercentile(95)))
+                .p99Millis(millis(metrics.latency.getValueAtPercentile(99)))
+                .maxMillis(millis(metrics.latency.getMaxValue()))
+                .build()));
+        return ScenarioReport.builder()
+                .scenario(scenario.getName())
+                .virtualUsers(profile.getVirtualUsers())
+                .peakActiveUsers(peakActiveUsers.get())
+                .journeys(journeyLatency.getTotalCount())
+                .failedJourneys(failedJourneys.sum())
+                .journeyP50Millis(millis(journeyLatency.getValueAtPercentile(50)))
+                .journeyP99Millis(millis(journeyLatency.getValueAtPercentile(99)))
+                .steps(stats)
+                .elapsedNanos(elapsedNanos)
+                .build();
+    }
+
+    private static void drain(ExecutorService users) {
+        try {
+            // Users finish the journey they are on, think times included
+            if (!users.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Scenario did not drain within {} s", DRAIN_TIMEOUT_SECONDS);
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            users.shutdownNow();
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class StepMetrics {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+    }
+
+    public static void main(String[] args) {
+        ScenarioProfile profile = ScenarioProfile.fromConfig();
+        try (PetstoreStubServer stub = ApiConfig.isStubEnabled()
+                ? new PetstoreStubServer(ApiConfig.getStubPort()).start()
+                : null) {
+            if (stub != null) {
+                profile.setBaseUrl(stub.getBaseUrl());
+            }
+            ScenarioReport report = new ScenarioRunner(Journeys.shopper(), profile).run();
+            System.out.println(report.summary());
+            // Before the stub, if any, stops
+            TestDataRegistry.cleanup();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.petstore.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of one virtual user: the values its steps extracted during the current journey. Only
+ * its own virtual thread touches it, and it is cleared rather than reallocated between journeys,
+ * which keeps the per-user footprint to a thread stack and one small map.
+ */
+public class Session {
+
+    /**
+     * Receives the timing of every request step.
+     */
+    @FunctionalInterface
+    interface StepRecorder {
+
+        void record(String step, long nanos, boolean success);
+    }
+
+    private final int userId;
+    private final LoadContext context;
+    private final StepRecorder recorder;
+    private final Map<String, Object> values = new HashMap<>();
+    private long journey;
+
+    Session(int userId, LoadContext context, StepRecorder recorder) {
+        this.userId = userId;
+        this.context = context;
+        this.recorder = recorder;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    // Journeys this user has started, counting from 1
+    public long getJourney() {
+        return journey;
+    }
+
+    public LoadContext getContext() {
+        return context;
+    }
+
+    public Session set(String key, Object value) {
+        values.put(key, value);
+        return this;
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Session of user " + userId + " has no value for '" + key + "'");
+        }
+        return (T) value;
+    }
+
+    public String getString(String key) {
+        Object value = get(key);
+        return String.valueOf(value);
+    }
+
+    public long getLong(String key) {
+        Object value = get(key);
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+    }
+
+    void startJourney() {
+        values.clear();
+        journey++;
+    }
+
+    void record(String step, long nanos, boolean success) {
+        recorder.record(step, nanos, success);
+    }
+}
@@ -0,0 +1,90 @@
+package com.petstore.load;
+
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The CRUD journeys of {@code PetCrudTest}, {@code StoreCrudTest} and {@code UserCrudTest} as
+ * loops for a soak run. Each flow deletes what it creates, so a run of any length leaves the
+ * backend, and the {@link com.petstore.utils.TestDataRegistry}, where it found them.
+ */
+public enum SoakFlow {
+    PET("pet") {
+        @Override
+        public void run(LoadContext context, Sampler sampler) {
+            Pet pet = context.newPet();
+            sampler.call(() -> context.pets().createPet(pet.getId(), context.petBody(pet)));
+            sampler.call(() -> context.pets().getPetById(pet.getId()));
+            sampler.call(() -> context.pets().updatePet(
+                    context.petBody(pet.getId(), pet.getName(), Pet.Status.SOLD.getValue())));
+            sampler.call(() -> context.pets().deletePet(pet.getId()));
+        }
+    },
+    STORE("store") {
+        @Override
+        public void run(LoadContext context, Sampler sampler) {
+            Order order = context.newOrder();
+            sampler.call(() -> context.store().placeOrder(order.getId(), context.orderBody(order)));
+            sampler.call(() -> context.store().getOrderById(order.getId()));
+            sampler.call(() -> context.store().getInventory());
+            sampler.call(() -> context.store().deleteOrder(order.getId()));
+        }
+    },
+    USER("user") {
+        @Override
+        public void run(LoadContext context, Sampler sampler) {
+            User user = context.newUser();
+            sampler.call(() -> context.users().createUser(user.getUsername(), context.userBody(user)));
+            sampler.call(() -> context.users().getUserByUsername(user.getUsername()));
+            sampler.call(() -> context.users().loginUser(user.getUsername(), user.getPassword()));
+            sampler.call(() -> context.users().logoutUser());
+            sampler.call(() -> context.users().deleteUser(user.getUsername()));
+        }
+    };
+
+    /**
+     * Times and counts one request of a flow.
+     */
+    @FunctionalInterface
+    public interface Sampler {
+
+        Response call(Supplier<Response> request);
+    }
+
+    private final String flowName;
+
+    SoakFlow(String flowName) {
+        this.flowName = flowName;
+    }
+
+    public abstract void run(LoadContext context, Sampler sampler);
+
+    public String getFlowName() {
+        return flowName;
+    }
+
+    public static SoakFlow fromName(String name) {
+        for (SoakFlow flow : values()) {
+            if (flow.flowName.equalsIgnoreCase(name)) {
+                return flow;
+            }
+        }
+        throw new IllegalArgumentException("Unknown soak flow: " + name);
+    }
+
+    // "pet,store,user"
+    public static List<SoakFlow> parse(String spec) {
+        List<SoakFlow> flows = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            if (!token.isBlank()) {
+                flows.add(fromName(token.trim()));
+            }
+        }
+        return flows;
+    }
+}
@@ -0,0 +1,39 @@
+package com.petstore.load;
+
+import com.petstore.api.config.ApiConfig;
+import lombok.Builder;
+import lombok.Data;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Builder
+public class SoakProfile {
+    private String baseUrl;
+    private int concurrency;
+    private Duration duration;
+    private Duration window;
+    private List<SoakFlow> flows;
+    private int baselineWindows;
+    private double driftThreshold;
+    private String reportPath;
+    private long reportMaxBytes;
+    private int historyWindows;
+    private Long dataSeed;
+
+    public static SoakProfile fromConfig() {
+        return SoakProfile.builder()
+                .baseUrl(ApiConfig.getBaseUrl())
+                .concurrency(ApiConfig.getSoakConcurrency())
+                .duration(Duration.ofSeconds(ApiConfig.getSoakDurationSeconds()))
+                .window(Duration.ofSeconds(ApiConfig.getSoakWindowSeconds()))
+                .flows(SoakFlow.parse(ApiConfig.getSoakFlows()))
+                .baselineWindows(ApiConfig.getSoakBaselineWindows())
+                .driftThreshold(ApiConfig.getSoakDriftThreshold())
+                .reportPath(ApiConfig.getSoakReportPath())
+                .reportMaxBytes(ApiConfig.getSoakReportMaxBytes())
+                .historyWindows(ApiConfig.getSoakHistoryWindows())
+                .dataSeed(ApiConfig.getLoadDataSeed())
+                .build();
+    }
+}
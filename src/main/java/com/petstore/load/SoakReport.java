@@ -0,0 +1,38 @@
+package com.petstore.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a soak run. Only the most recent windows are kept; the full series is in the
+ * CSV/JSON Lines files.
+ */
+@Getter
+@Builder
+public class SoakReport {
+    private final long windowCount;
+    private final List<SoakWindow> recentWindows;
+    private final long driftedWindows;
+    private final long requests;
+    private final long errors;
+    private final double baselineP99Millis;
+    private final long elapsedNanos;
+
+    public double getErrorRate() {
+        return requests == 0 ? 0 : errors / (double) requests;
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "windows=%d, drifted=%d, requests=%d, errors=%d (%.2f%%), baseline p99=%.2f ms, elapsed=%.1f s",
+                windowCount, driftedWindows, requests, errors, getErrorRate() * 100, baselineP99Millis,
+                elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,354 @@
+package com.petstore.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.JsonMapperProvider;
+import com.petstore.api.config.TestConfig;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.TestDataRegistry;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Closed-model soak run: {@code concurrency} virtual users loop the {@link SoakFlow}s for the
+ * whole duration. Every {@code window} the latencies recorded since the last window are swapped
+ * out of an HdrHistogram {@link Recorder} and reduced to a {@link SoakWindow}, which is appended
+ * to {@code <reportPath>.csv} and {@code <reportPath>.jsonl}, so memory stays flat however long
+ * the run. The p99 of the first {@code baselineWindows} windows is the baseline; later windows
+ * whose p99 exceeds it by more than {@code driftThreshold} are flagged.
+ */
+public class SoakRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SoakRunner.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final SoakProfile profile;
+    private final LoadContext context;
+    private final List<Consumer<SoakWindow>> windowListeners = new ArrayList<>();
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    public SoakRunner(SoakProfile profile) {
+        this(profile, new LoadContext(TestConfig.getLoadRequestSpec(profile.getBaseUrl()),
+                profile.getDataSeed() != null ? profile.getDataSeed() : System.nanoTime()));
+    }
+
+    public SoakRunner(SoakProfile profile, LoadContext context) {
+        if (profile.getConcurrency() <= 0 || profile.getFlows().isEmpty()) {
+            throw new IllegalArgumentException("Need a positive concurrency and at least one flow");
+        }
+        this.profile = profile;
+        this.context = context;
+    }
+
+    /**
+     * Called on the reporting thread with each window as it closes.
+     */
+    public SoakRunner onWindow(Consumer<SoakWindow> listener) {
+        windowListeners.add(listener);
+        return this;
+    }
+
+    public SoakReport run() {
+        warmUp();
+        logger.info("Starting soak run: {} virtual users, duration {} s, window {} ms, flows {}, data seed {}",
+                profile.getConcurrency(), profile.getDuration().getSeconds(), profile.getWindow().toMillis(),
+                profile.getFlows(), context.getDataSeed());
+
+        long start = System.nanoTime();
+        long deadline = start + profile.getDuration().toNanos();
+        ExecutorService users = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("soak-user-", 0).factory());
+        for (int i = 0; i < profile.getConcurrency(); i++) {
+            int offset = i;
+            users.execute(() -> loop(offset, deadline));
+        }
+        users.shutdown();
+
+        WindowState state = new WindowState();
+        try (ReportFiles files = new ReportFiles(profile.getReportPath(), profile.getReportMaxBytes())) {
+            long windowNanos = profile.getWindow().toNanos();
+            long windowStart = start;
+            while (true) {
+                long windowEnd = Math.min(windowStart + windowNanos, deadline);
+                for (long wait = windowEnd - System.nanoTime(); wait > 0; wait = windowEnd - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (windowEnd >= deadline) {
+                    break;
+                }
+                closeWindow(state, files, windowStart);
+                windowStart = windowEnd;
+            }
+            // Requests still in flight at the deadline land in the last window
+            drain(users);
+            closeWindow(state, files, windowStart);
+        }
+
+        SoakReport report = SoakReport.builder()
+                .windowCount(state.count)
+                .recentWindows(List.copyOf(state.recent))
+                .driftedWindows(state.drifted)
+                .requests(state.requests)
+                .errors(state.errors)
+                .baselineP99Millis(state.baselineP99Millis)
+                .elapsedNanos(System.nanoTime() - start)
+                .build();
+        logger.info("Soak run finished: {}", report.summary());
+        return report;
+    }
+
+    // Virtual users start at different flows so every flow is in play from the first window
+    private void loop(int offset, long deadline) {
+        List<SoakFlow> flows = profile.getFlows();
+        SoakFlow.Sampler sampler = this::sample;
+        for (int i = offset; System.nanoTime() < deadline && !Thread.currentThread().isInterrupted(); i++) {
+            SoakFlow flow = flows.get(i % flows.size());
+            try {
+                flow.run(context, sampler);
+            } catch (Exception e) {
+                logger.debug("Soak flow {} failed: {}", flow.getFlowName(), e.getMessage());
+            }
+        }
+    }
+
+    private Response sample(Supplier<Response> request) {
+        long sendTime = System.nanoTime();
+        boolean success = false;
+        try {
+            Response response = request.get();
+            success = response.getStatusCode() < 400;
+            return response;
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sendTime);
+            recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+    }
+
+    private void closeWindow(WindowState state, ReportFiles files, long windowStart) {
+        long now = System.nanoTime();
+        state.interval = recorder.getIntervalHistogram(state.interval);
+        Histogram histogram = state.interval;
+        long requests = histogram.getTotalCount();
+        long windowErrors = Math.min(errors.sumThenReset(), requests);
+        double seconds = (now - windowStart) / 1e9;
+        double p99 = millis(histogram.getValueAtPercentile(99));
+
+        double drift = 0;
+        boolean drifted = false;
+        if (state.count < profile.getBaselineWindows()) {
+            state.baseline.add(histogram);
+            state.baselineP99Millis = millis(state.baseline.getValueAtPercentile(99));
+        } else if (state.baselineP99Millis > 0 && requests > 0) {
+            drift = p99 / state.baselineP99Millis;
+            drifted = drift > 1 + profile.getDriftThreshold();
+        }
+
+        SoakWindow window = SoakWindow.builder()
+                .window(state.count)
+                .startEpochMillis(System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(now - windowStart))
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(now - windowStart))
+                .requests(requests)
+                .errors(windowErrors)
+                .throughput(seconds > 0 ? requests / seconds : 0)
+                .errorRate(requests == 0 ? 0 : windowErrors / (double) requests)
+                .p50Millis(millis(histogram.getValueAtPercentile(50)))
+                .p90Millis(millis(histogram.getValueAtPercentile(90)))
+                .p99Millis(p99)
+                .p999Millis(millis(histogram.getValueAtPercentile(99.9)))
+                .maxMillis(millis(histogram.getMaxValue()))
+                .p99Drift(drift)
+                .drifted(drifted)
+                .build();
+
+        state.count++;
+        state.requests += requests;
+        state.errors += windowErrors;
+        if (drifted) {
+            state.drifted++;
+            logger.warn("Soak {}", window.summary());
+        } else {
+            logger.info("Soak {}", window.summary());
+        }
+        state.recent.addLast(window);
+        while (state.recent.size() > profile.getHistoryWindows()) {
+            state.recent.removeFirst();
+        }
+        files.append(window);
+        windowListeners.forEach(listener -> listener.accept(window));
+    }
+
+    private void warmUp() {
+        for (SoakFlow flow : profile.getFlows()) {
+            try {
+                flow.run(context, request -> request.get());
+            } catch (Exception e) {
+                logger.debug("Warm-up of {} failed: {}", flow.getFlowName(), e.getMessage());
+            }
+        }
+    }
+
+    private static void drain(ExecutorService users) {
+        try {
+            if (!users.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Soak run did not drain within {} s", DRAIN_TIMEOUT_SECONDS);
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            users.shutdownNow();
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // Touched only by the reporting thread
+    private static class WindowState {
+        final Histogram baseline = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Deque<SoakWindow> recent = new ArrayDeque<>();
+        Histogram interval;
+        long count;
+        long drifted;
+        long requests;
+        long errors;
+        double baselineP99Millis;
+    }
+
+    /**
+     * One CSV and one JSON Lines file, each rolled over to {@code .1} once it passes
+     * {@code maxBytes}, so a run of any length keeps at most two of each on disk.
+     */
+    private static class ReportFiles implements AutoCloseable {
+        private static final ObjectWriter jsonWriter = JsonMapperProvider.getObjectMapper().writer();
+
+        private final RollingFile csv;
+        private final RollingFile json;
+
+        ReportFiles(String basePath, long maxBytes) {
+            this.csv = new RollingFile(Paths.get(basePath + ".csv"), maxBytes, SoakWindow.CSV_HEADER);
+            this.json = new RollingFile(Paths.get(basePath + ".jsonl"), maxBytes, null);
+        }
+
+        void append(SoakWindow window) {
+            try {
+                csv.append(window.toCsv());
+                json.append(jsonWriter.writeValueAsString(window));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize soak window", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            csv.close();
+            json.close();
+        }
+    }
+
+    private static class RollingFile {
+        private final Path path;
+        private final long maxBytes;
+        private final String header;
+        private BufferedWriter writer;
+        private long bytes;
+
+        RollingFile(Path path, long maxBytes, String header) {
+            this.path = path;
+            this.maxBytes = maxBytes;
+            this.header = header;
+            open();
+        }
+
+        void append(String line) {
+            try {
+                if (bytes > 0 && bytes + line.length() + 1 > maxBytes) {
+                    writer.close();
+                    Files.move(path, path.resolveSibling(path.getFileName() + ".1"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    open();
+                }
+                write(line);
+                // Flushed per window, so the files can be tailed and survive a killed run
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + path, e);
+            }
+        }
+
+        void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close {}: {}", path, e.getMessage());
+            }
+        }
+
+        private void open() {
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                bytes = 0;
+                if (header != null) {
+                    write(header);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open " + path, e);
+            }
+        }
+
+        private void write(String line) throws IOException {
+            writer.write(line);
+            writer.newLine();
+            bytes += line.length() + 1;
+        }
+    }
+
+    public static void main(String[] args) {
+        SoakProfile profile = SoakProfile.fromConfig();
+        try (PetstoreStubServer stub = ApiConfig.isStubEnabled()
+                ? new PetstoreStubServer(ApiConfig.getStubPort()).start()
+                : null) {
+            if (stub != null) {
+                profile.setBaseUrl(stub.getBaseUrl());
+            }
+            SoakReport report = new SoakRunner(profile).run();
+            System.out.println(report.summary());
+            // Before the stub, if any, stops
+            TestDataRegistry.cleanup();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.petstore.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.Locale;
+
+/**
+ * Throughput, errors and latency percentiles of one soak window. {@code p99Drift} is the
+ * window's p99 over the baseline p99, or 0 while the baseline is still being measured.
+ */
+@Getter
+@Builder
+public class SoakWindow {
+    public static final String CSV_HEADER = "window,startEpochMillis,durationMillis,requests,errors,"
+            + "throughput,errorRate,p50Millis,p90Millis,p99Millis,p999Millis,maxMillis,p99Drift,drifted";
+
+    private final long window;
+    private final long startEpochMillis;
+    private final long durationMillis;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double errorRate;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+    private final double p99Drift;
+    private final boolean drifted;
+
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.2f,%.4f,%.3f,%.3f,%.3f,%.3f,%.3f,%.2f,%b",
+                window, startEpochMillis, durationMillis, requests, errors, throughput, errorRate,
+                p50Millis, p90Millis, p99Millis, p999Millis, maxMillis, p99Drift, drifted);
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "window %d: %d requests (%.1f rps), errors %.2f%%, latency ms p50=%.2f p90=%.2f p99=%.2f "
+                        + "max=%.2f, p99 drift %.2fx%s",
+                window, requests, throughput, errorRate * 100, p50Millis, p90Millis, p99Millis,
+                maxMillis, p99Drift, drifted ? " DRIFTED" : "");
+    }
+}
@@ -0,0 +1,36 @@
+package com.petstore.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.Locale;
+
+/**
+ * Latency and outcome of one named step of a {@link Scenario}, across all virtual users.
+ */
+@Getter
+@Builder
+public class StepStats {
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    public double getErrorRate() {
+        return count == 0 ? 0 : errors / (double) count;
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%s: count=%d, errors=%d (%.2f%%), mean=%.2f ms, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms",
+                name, count, errors, getErrorRate() * 100, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,37 @@
+package com.petstore.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of the pauses a virtual user takes between steps of a {@link Scenario}.
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+    long nextNanos();
+
+    static ThinkTime constant(Duration pause) {
+        long nanos = pause.toNanos();
+        return () -> nanos;
+    }
+
+    static ThinkTime uniform(Duration min, Duration max) {
+        long low = min.toNanos();
+        long high = max.toNanos();
+        if (high < low) {
+            throw new IllegalArgumentException("max must not be below min");
+        }
+        return () -> low == high ? low : ThreadLocalRandom.current().nextLong(low, high + 1);
+    }
+
+    /**
+     * Exponentially distributed around {@code mean}, the usual model for human think time, capped
+     * at {@code max} so one unlucky draw does not idle a virtual user for the rest of the run.
+     */
+    static ThinkTime exponential(Duration mean, Duration max) {
+        double meanNanos = mean.toNanos();
+        long cap = max.toNanos();
+        return () -> Math.min(cap, (long) (-meanNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble())));
+    }
+}
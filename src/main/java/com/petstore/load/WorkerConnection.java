@@ -0,0 +1,63 @@
+package com.petstore.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.api.config.JsonMapperProvider;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Newline-delimited {@link WorkerMessage}s over a socket, shared by both ends of the protocol.
+ */
+class WorkerConnection implements AutoCloseable {
+    private static final ObjectMapper objectMapper = JsonMapperProvider.getObjectMapper();
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+
+    WorkerConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    void send(WorkerMessage message) throws IOException {
+        writer.write(objectMapper.writeValueAsString(message));
+        writer.newLine();
+        writer.flush();
+    }
+
+    // A null type accepts any message
+    WorkerMessage receive(WorkerMessage.Type expected) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("Connection closed while waiting for " + expected);
+        }
+        WorkerMessage message = objectMapper.readValue(line, WorkerMessage.class);
+        if (expected != null && message.getType() != expected) {
+            throw new IOException("Expected " + expected + " but got " + message.getType());
+        }
+        return message;
+    }
+
+    void setReadTimeout(long millis) throws IOException {
+        socket.setSoTimeout(Math.toIntExact(Math.min(Integer.MAX_VALUE, millis)));
+    }
+
+    static long epochMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
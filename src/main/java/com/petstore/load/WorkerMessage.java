@@ -0,0 +1,60 @@
+package com.petstore.load;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+/**
+ * One line of the coordinator/worker protocol, sent as JSON. Only the fields of its
+ * {@link Type} are set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WorkerMessage {
+
+    public enum Type {
+        // worker -> coordinator: workerId
+        HELLO,
+        // coordinator -> worker: read your clock now
+        SYNC,
+        // worker -> coordinator: epochMicros
+        CLOCK,
+        // coordinator -> worker: this worker's share of the profile and when to start it
+        START,
+        // worker -> coordinator: the worker's load report
+        RESULT
+    }
+
+    private Type type;
+    private String workerId;
+    private Long epochMicros;
+
+    // START; targetRps is echoed in RESULT
+    private Integer idBlock;
+    private Long startAtEpochMicros;
+    private String baseUrl;
+    private Integer targetRps;
+    private Long rampUpMillis;
+    private Long durationMillis;
+    private Integer maxInFlight;
+    private String mix;
+    private Long dataSeed;
+
+    // RESULT
+    private Long scheduled;
+    private Long completed;
+    private Long errors;
+    private Long queued;
+    private Long elapsedNanos;
+    private Long startEpochMicros;
+    private String histogram;
+    private String correctedHistogram;
+    private Map<String, Long> operationCounts;
+    private Map<Integer, Long> statusCounts;
+}
@@ -0,0 +1,565 @@
+package com.petstore.stub;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.petstore.api.config.JsonMapperProvider;
+import com.petstore.api.models.ApiResponse;
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory implementation of the Petstore {@code /pet}, {@code /store} and {@code /user} API.
+ * The JDK server multiplexes connections on a selector and hands each exchange to a virtual
+ * thread; all state lives in concurrent maps, so it is safe to hit from parallel tests and load runs.
+ */
+public class PetstoreStubServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PetstoreStubServer.class);
+
+    public static final String BASE_PATH = "/v2";
+    private static final String JSON = "application/json";
+    private static final Set<String> PET_STATUSES = Set.of("available", "pending", "sold");
+    private static final Set<String> ORDER_STATUSES = Set.of("placed", "approved", "delivered");
+    // Generated ids stay clear of the ranges tests use for their own ids and for "missing" lookups
+    private static final long FIRST_GENERATED_ID = 1_000_000_000L;
+
+    // Like the real server, omits unset fields
+    private final ObjectMapper objectMapper = JsonMapperProvider.getObjectMapper().copy()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Map<Long, Pet> pets = new ConcurrentHashMap<>();
+    private final Map<Long, Order> orders = new ConcurrentHashMap<>();
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> inventory = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong(FIRST_GENERATED_ID);
+    private final AtomicInteger pendingFaults = new AtomicInteger();
+    private volatile int faultStatus;
+    private volatile long responseDelayMillis;
+
+    private final int requestedPort;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PetstoreStubServer() {
+        this(0);
+    }
+
+    /**
+     * @param port port to bind on localhost, or 0 for a random free port
+     */
+    public PetstoreStubServer(int port) {
+        this.requestedPort = port;
+        seed();
+    }
+
+    public synchronized PetstoreStubServer start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", requestedPort), 1024);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start Petstore stub on port " + requestedPort, e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Petstore stub listening on " + getBaseUrl());
+        // A JVM-wide switch the JDK server reads once, so it is left to the launcher (surefire sets it)
+        if (!Boolean.getBoolean("sun.net.httpserver.nodelay")) {
+            logger.warn("sun.net.httpserver.nodelay is not set: Nagle on small responses meets the client's "
+                    + "delayed ACK, adding ~40 ms per call; run with -Dsun.net.httpserver.nodelay=true");
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + BASE_PATH + "/";
+    }
+
+    /**
+     * Drops everything created through the API and restores the seed data.
+     */
+    public void reset() {
+        pets.clear();
+        orders.clear();
+        users.clear();
+        inventory.clear();
+        seed();
+    }
+
+    /**
+     * Answers the next {@code count} requests, whatever they are, with {@code statusCode} and no
+     * side effects, e.g. to exercise retries against a flaky backend.
+     */
+    public void failNextRequests(int count, int statusCode) {
+        faultStatus = statusCode;
+        pendingFaults.set(count);
+    }
+
+    /**
+     * Holds every response for {@code millis} before sending it, e.g. to simulate a degrading
+     * backend; 0 turns the delay off.
+     */
+    public void setResponseDelay(long millis) {
+        responseDelayMillis = millis;
+    }
+
+    // Like the public Petstore, the store is never empty: find-by-status and inventory always return data
+    private void seed() {
+        long id = 1;
+        for (String status : List.of("available", "pending", "sold")) {
+            Pet pet = Pet.builder()
+                    .id(id++)
+                    .name("Seed " + status)
+                    .photoUrls(Collections.emptyList())
+                    .status(status)
+                    .build();
+            savePet(pet);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Reply reply;
+            try {
+                reply = pendingFaults.getAndUpdate(n -> Math.max(0, n - 1)) > 0
+                        ? error(faultStatus, "Injected fault")
+                        : route(exchange);
+            } catch (JsonProcessingException e) {
+                reply = error(400, "Invalid input");
+            } catch (RuntimeException e) {
+                logger.warn("Petstore stub failed on " + exchange.getRequestURI(), e);
+                reply = error(500, "Something bad happened");
+            }
+            delay();
+            send(exchange, reply);
+        }
+    }
+
+    private void delay() {
+        long millis = responseDelayMillis;
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Reply route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+        String[] segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        if (segments.length == 0) {
+            return error(404, "Not found");
+        }
+
+        switch (segments[0]) {
+            case "pet":
+                return routePet(exchange, method, segments);
+            case "store":
+                return routeStore(exchange, method, segments);
+            case "user":
+                return routeUser(exchange, method, segments);
+            default:
+                return error(404, "Not found");
+        }
+    }
+
+    // ========== /pet ==========
+
+    private Reply routePet(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 1) {
+            switch (method) {
+                case "POST":
+                    return createPet(readBody(exchange, Pet.class));
+                case "PUT":
+                    return updatePet(readBody(exchange, Pet.class));
+                default:
+                    return methodNotAllowed();
+            }
+        }
+        if (segments.length == 2 && "findByStatus".equals(segments[1]) && "GET".equals(method)) {
+            return findPetsByStatus(queryParams(exchange).get("status"));
+        }
+        if (segments.length == 2) {
+            Long petId = parseId(segments[1]);
+            if (petId == null) {
+                return error(400, "Invalid ID supplied");
+            }
+            switch (method) {
+                case "GET":
+                    return getPet(petId);
+                case "POST":
+                    return updatePetWithForm(petId, formParams(exchange));
+                case "DELETE":
+                    return deletePet(petId);
+                default:
+                    return methodNotAllowed();
+            }
+        }
+        return error(404, "Not found");
+    }
+
+    private Reply createPet(Pet pet) {
+        if (!isValid(pet)) {
+            return error(400, "Invalid input");
+        }
+        if (pet.getId() == null || pet.getId() == 0) {
+            pet.setId(idSequence.incrementAndGet());
+        }
+        savePet(pet);
+        return ok(pet);
+    }
+
+    private Reply updatePet(Pet pet) {
+        if (!isValid(pet) || pet.getId() == null) {
+            return error(400, "Invalid ID supplied");
+        }
+        Pet[] replaced = new Pet[1];
+        pets.computeIfPresent(pet.getId(), (id, existing) -> {
+            countInventory(existing.getStatus(), -1);
+            countInventory(pet.getStatus(), 1);
+            replaced[0] = pet;
+            return pet;
+        });
+        return replaced[0] != null ? ok(pet) : error(404, "Pet not found");
+    }
+
+    private Reply findPetsByStatus(String statusParam) {
+        if (statusParam == null || statusParam.isEmpty()) {
+            return error(400, "Invalid status value");
+        }
+        List<String> statuses = Arrays.asList(statusParam.split(","));
+        if (!PET_STATUSES.containsAll(statuses)) {
+            return error(400, "Invalid status value");
+        }
+        List<Pet> matches = new ArrayList<>();
+        for (Pet pet : pets.values()) {
+            if (statuses.contains(pet.getStatus())) {
+                matches.add(pet);
+            }
+        }
+        return ok(matches);
+    }
+
+    private Reply getPet(long petId) {
+        if (petId <= 0) {
+            return error(400, "Invalid ID supplied");
+        }
+        Pet pet = pets.get(petId);
+        return pet != null ? ok(pet) : error(404, "Pet not found");
+    }
+
+    private Reply updatePetWithForm(long petId, Map<String, String> form) {
+        String status = form.get("status");
+        if (status != null && !PET_STATUSES.contains(status)) {
+            return error(405, "Invalid input");
+        }
+        Pet updated = pets.computeIfPresent(petId, (id, existing) -> {
+            Pet copy = new Pet(existing.getId(), existing.getCategory(), existing.getName(),
+                    existing.getPhotoUrls(), existing.getTags(), existing.getStatus());
+            if (form.get("name") != null) {
+                copy.setName(form.get("name"));
+            }
+            if (status != null) {
+                countInventory(existing.getStatus(), -1);
+                countInventory(status, 1);
+                copy.setStatus(status);
+            }
+            return copy;
+        });
+        return updated != null ? message(String.valueOf(petId)) : error(404, "Pet not found");
+    }
+
+    private Reply deletePet(long petId) {
+        if (petId <= 0) {
+            return error(400, "Invalid ID supplied");
+        }
+        Pet removed = pets.remove(petId);
+        if (removed == null) {
+            return error(404, "Pet not found");
+        }
+        countInventory(removed.getStatus(), -1);
+        return message(String.valueOf(petId));
+    }
+
+    private void savePet(Pet pet) {
+        Pet previous = pets.put(pet.getId(), pet);
+        if (previous != null) {
+            countInventory(previous.getStatus(), -1);
+        }
+        countInventory(pet.getStatus(), 1);
+    }
+
+    private void countInventory(String status, int delta) {
+        if (status != null) {
+            inventory.computeIfAbsent(status, s -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static boolean isValid(Pet pet) {
+        return pet.getName() != null && !pet.getName().isBlank()
+                && (pet.getId() == null || pet.getId() >= 0)
+                && (pet.getStatus() == null || PET_STATUSES.contains(pet.getStatus()));
+    }
+
+    // ========== /store ==========
+
+    private Reply routeStore(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 2 && "inventory".equals(segments[1]) && "GET".equals(method)) {
+            Map<String, Long> counts = new HashMap<>();
+            inventory.forEach((status, count) -> counts.put(status, count.sum()));
+            return ok(counts);
+        }
+        if (segments.length == 2 && "order".equals(segments[1]) && "POST".equals(method)) {
+            return placeOrder(readBody(exchange, Order.class));
+        }
+        if (segments.length == 3 && "order".equals(segments[1])) {
+            Long orderId = parseId(segments[2]);
+            if (orderId == null || orderId <= 0) {
+                return error(400, "Invalid ID supplied");
+            }
+            switch (method) {
+                case "GET":
+                    Order order = orders.get(orderId);
+                    return order != null ? ok(order) : error(404, "Order not found");
+                case "DELETE":
+                    return orders.remove(orderId) != null
+                            ? message(String.valueOf(orderId))
+                            : error(404, "Order Not Found");
+                default:
+                    return methodNotAllowed();
+            }
+        }
+        return error(404, "Not found");
+    }
+
+    private Reply placeOrder(Order order) {
+        boolean valid = (order.getId() == null || order.getId() >= 0)
+                && order.getPetId() != null && order.getPetId() > 0
+                && order.getQuantity() != null && order.getQuantity() > 0
+                && (order.getStatus() == null || ORDER_STATUSES.contains(order.getStatus()));
+        if (!valid) {
+            return error(400, "Invalid Order");
+        }
+        if (order.getId() == null || order.getId() == 0) {
+            order.setId(idSequence.incrementAndGet());
+        }
+        orders.put(order.getId(), order);
+        return ok(order);
+    }
+
+    // ========== /user ==========
+
+    private Reply routeUser(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 1 && "POST".equals(method)) {
+            return createUser(readBody(exchange, User.class));
+        }
+        if (segments.length == 2 && "login".equals(segments[1]) && "GET".equals(method)) {
+            Map<String, String> query = queryParams(exchange);
+            return login(query.get("username"), query.get("password"));
+        }
+        if (segments.length == 2 && "logout".equals(segments[1]) && "GET".equals(method)) {
+            return message("ok");
+        }
+        if (segments.length == 2 && "POST".equals(method)
+                && ("createWithArray".equals(segments[1]) || "createWithList".equals(segments[1]))) {
+            return createUsers(readBody(exchange, User[].class));
+        }
+        if (segments.length == 2) {
+            String username = segments[1];
+            switch (method) {
+                case "GET":
+                    User user = users.get(username);
+                    return user != null ? ok(user) : error(404, "User not found");
+                case "PUT":
+                    return updateUser(username, readBody(exchange, User.class));
+                case "DELETE":
+                    return users.remove(username) != null ? message(username) : error(404, "User not found");
+                default:
+                    return methodNotAllowed();
+            }
+        }
+        return error(404, "Not found");
+    }
+
+    private Reply createUser(User user) {
+        if (!isValid(user)) {
+            return error(400, "Invalid user supplied");
+        }
+        if (user.getId() == null || user.getId() == 0) {
+            user.setId(idSequence.incrementAndGet());
+        }
+        users.put(user.getUsername(), user);
+        return message(String.valueOf(user.getId()));
+    }
+
+    private Reply createUsers(User[] batch) {
+        for (User user : batch) {
+            if (user == null || !isValid(user)) {
+                return error(400, "Invalid user supplied");
+            }
+        }
+        for (User user : batch) {
+            if (user.getId() == null || user.getId() == 0) {
+                user.setId(idSequence.incrementAndGet());
+            }
+            users.put(user.getUsername(), user);
+        }
+        return message("ok");
+    }
+
+    private Reply updateUser(String username, User user) {
+        if (!isValid(user)) {
+            return error(400, "Invalid user supplied");
+        }
+        User updated = users.computeIfPresent(username, (name, existing) -> {
+            if (user.getId() == null) {
+                user.setId(existing.getId());
+            }
+            return user;
+        });
+        return updated != null ? message(String.valueOf(updated.getId())) : error(404, "User not found");
+    }
+
+    private Reply login(String username, String password) {
+        User user = username != null ? users.get(username) : null;
+        if (user == null || password == null || !password.equals(user.getPassword())) {
+            return error(400, "Invalid username/password supplied");
+        }
+        Reply reply = message("logged in user session:" + ThreadLocalRandom.current().nextLong(1L << 40));
+        reply.headers.put("X-Rate-Limit", "5000");
+        reply.headers.put("X-Expires-After", new Date(System.currentTimeMillis() + 3_600_000).toString());
+        return reply;
+    }
+
+    private static boolean isValid(User user) {
+        return user.getUsername() != null && !user.getUsername().isBlank()
+                && (user.getEmail() == null || user.getEmail().contains("@"));
+    }
+
+    // ========== HTTP plumbing ==========
+
+    private static final class Reply {
+        final int status;
+        final Object body;
+        final Map<String, String> headers = new HashMap<>();
+
+        Reply(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static Reply ok(Object body) {
+        return new Reply(200, body);
+    }
+
+    private static Reply message(String message) {
+        return new Reply(200, new ApiResponse(200, "unknown", message));
+    }
+
+    private static Reply error(int status, String message) {
+        return new Reply(status, new ApiResponse(status == 404 ? 1 : status, "error", message));
+    }
+
+    private static Reply methodNotAllowed() {
+        return error(405, "Method not allowed");
+    }
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(reply.body);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        reply.headers.forEach(exchange.getResponseHeaders()::set);
+        exchange.sendResponseHeaders(reply.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private <T> T readBody(HttpExchange exchange, Class<T> type) throws IOException {
+        // An empty body fails inside Jackson; a literal null has to be rejected here
+        T value = objectMapper.readValue(exchange.getRequestBody().readAllBytes(), type);
+        if (value == null) {
+            throw MismatchedInputException.from(null, type, "Request body is null");
+        }
+        return value;
+    }
+
+    private static Long parseId(String segment) {
+        try {
+            return Long.parseLong(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        return parseUrlEncoded(exchange.getRequestURI().getRawQuery());
+    }
+
+    private static Map<String, String> formParams(HttpExchange exchange) throws IOException {
+        return parseUrlEncoded(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseUrlEncoded(String encoded) {
+        Map<String, String> params = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return params;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.merge(name, value, (a, b) -> a + "," + b);
+        }
+        return params;
+    }
+}
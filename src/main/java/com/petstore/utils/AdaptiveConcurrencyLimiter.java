@@ -0,0 +1,105 @@
+package com.petstore.utils;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps calls in flight at a limit that adapts to the backend (AIMD). Every call that completes
+ * fast enough while at least half the limit is in use adds {@code 1/limit}, i.e. the limit grows
+ * by about one per window of good calls.
+ * A dropped call (429, 503, I/O error) or one slower than {@code latencyTolerance} times the
+ * best latency seen recently cuts the limit by {@code backoffRatio}. The baseline latency is
+ * re-learned every {@value #BASELINE_WINDOW} samples, so it follows the backend when it moves.
+ */
+public class AdaptiveConcurrencyLimiter {
+    static final int BASELINE_WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Need 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Waits until a slot is free under the current limit. Parks on a condition rather than a
+     * monitor, so waiting virtual threads release their carriers.
+     */
+    public void acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                released.awaitUninterruptibly();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #acquire()} and adjusts the limit.
+     *
+     * @param latencyNanos how long the call took
+     * @param dropped      whether the backend shed or failed the call
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        lock.lock();
+        try {
+            inFlight--;
+            windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+            if (++windowSamples >= BASELINE_WINDOW) {
+                baselineNanos = windowMinNanos;
+                windowMinNanos = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+            baselineNanos = Math.min(baselineNanos, latencyNanos);
+
+            if (dropped || latencyNanos > latencyTolerance * baselineNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if ((inFlight + 1) * 2 >= (int) limit) {
+                // Only grow while the limit is actually being used, or it drifts up unchecked
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
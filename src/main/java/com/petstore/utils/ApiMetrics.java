@@ -0,0 +1,218 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.petstore.api.config.JsonMapperProvider;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms keyed by HTTP method and path template, e.g.
+ * {@code GET /pet/{petId}}. Recording is wait-free and allocation-free (HdrHistogram
+ * {@link Recorder} with a fixed range); histograms are only copied when a report is taken.
+ */
+public class ApiMetrics {
+    // One hour in microseconds; slower calls are clamped so recording never resizes
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final ObjectWriter reportWriter =
+            JsonMapperProvider.getObjectMapper().writerWithDefaultPrettyPrinter();
+
+    private static final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private static final Map<String, CircuitMetrics> circuits = new ConcurrentHashMap<>();
+
+    public static class EndpointMetrics {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram accumulated = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        void record(long micros, int statusCode) {
+            recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (statusCode < 0 || statusCode >= 500) {
+                errors.increment();
+            } else if (statusCode >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        // Folds everything recorded since the last call into the running total
+        public synchronized Histogram snapshot() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return accumulated.copy();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getClientErrors() {
+            return clientErrors.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+    }
+
+    public static class CircuitMetrics {
+        private final LongAdder opened = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder openNanos = new LongAdder();
+
+        public long getOpened() {
+            return opened.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        public long getOpenMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(openNanos.sum());
+        }
+    }
+
+    public static String key(String method, String pathTemplate) {
+        return method + " " + pathTemplate;
+    }
+
+    // Calls whose body was left streaming, timed to the first byte rather than the full response
+    public static String firstByteKey(String key) {
+        return key + " (first byte)";
+    }
+
+    /**
+     * @param statusCode HTTP status, or -1 when the call failed without a response
+     */
+    public static void record(String key, long elapsedNanos, int statusCode) {
+        endpoints.computeIfAbsent(key, k -> new EndpointMetrics())
+                .record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), statusCode);
+    }
+
+    // Attempts after the first; each attempt is also recorded as a call of its own
+    public static void recordRetry(String key) {
+        endpoints.computeIfAbsent(key, k -> new EndpointMetrics()).retries.increment();
+    }
+
+    public static void recordCircuitOpened(String route) {
+        circuit(route).opened.increment();
+    }
+
+    public static void recordCircuitRejected(String route) {
+        circuit(route).rejected.increment();
+    }
+
+    public static void recordCircuitOpenTime(String route, long openNanos) {
+        circuit(route).openNanos.add(openNanos);
+    }
+
+    public static Map<String, EndpointMetrics> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    public static Map<String, CircuitMetrics> getCircuits() {
+        return new TreeMap<>(circuits);
+    }
+
+    public static void reset() {
+        endpoints.clear();
+        circuits.clear();
+    }
+
+    public static Map<String, Object> report() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        getEndpoints().forEach((key, metrics) -> {
+            Histogram histogram = metrics.snapshot();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", key);
+            entry.put("count", histogram.getTotalCount());
+            entry.put("errors", metrics.getErrors());
+            entry.put("clientErrors", metrics.getClientErrors());
+            entry.put("retries", metrics.getRetries());
+            entry.put("meanMs", histogram.getMean() / 1000.0);
+            entry.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            entry.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+            entry.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            entry.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            entry.put("maxMs", histogram.getMaxValue() / 1000.0);
+            entry.put("histogram", encode(histogram));
+            entries.add(entry);
+        });
+
+        List<Map<String, Object>> circuitEntries = new ArrayList<>();
+        getCircuits().forEach((route, metrics) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("route", route);
+            entry.put("opened", metrics.getOpened());
+            entry.put("rejected", metrics.getRejected());
+            entry.put("openMs", metrics.getOpenMillis());
+            circuitEntries.add(entry);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("histogramUnit", "microseconds");
+        report.put("endpoints", entries);
+        report.put("circuitBreakers", circuitEntries);
+        return report;
+    }
+
+    public static String toJson() {
+        try {
+            return reportWriter.writeValueAsString(report());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize API metrics", e);
+        }
+    }
+
+    public static String writeReport(Path path) {
+        String json = toJson();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write API metrics to " + path, e);
+        }
+        return json;
+    }
+
+    private static CircuitMetrics circuit(String route) {
+        return circuits.computeIfAbsent(route, r -> new CircuitMetrics());
+    }
+
+    // Compressed HdrHistogram payload, so builds can be compared or merged without loss
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] bytes = new byte[length];
+        buffer.flip();
+        buffer.get(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    public static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(
+                    ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (java.util.zip.DataFormatException e) {
+            throw new IllegalArgumentException("Invalid encoded histogram", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.petstore.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based circuit breaker for one route.
+ * <ul>
+ *   <li>Closed: the outcomes of the last {@code windowSize} calls are kept; once at least
+ *   {@code minimumCalls} are in and the failure rate reaches the threshold, it opens.</li>
+ *   <li>Open: calls are rejected without touching the network until {@code openMillis} pass.</li>
+ *   <li>Half-open: one probe call at a time; success closes it, failure opens it again.</li>
+ * </ul>
+ * Opens, rejections and the time spent not closed are recorded in {@link ApiMetrics}.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String route;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    // Never held across a call, but a ReentrantLock anyway so waiting virtual threads do not pin
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private long notClosedSince;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String route, int windowSize, int minimumCalls, double failureRateThreshold, long openMillis) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Need 0 < minimumCalls <= windowSize");
+        }
+        this.route = route;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * @return whether a call may go out now; every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+                ApiMetrics.recordCircuitRejected(route);
+                return false;
+            }
+            if (state == State.HALF_OPEN) {
+                probeInFlight = true;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        record(false);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    private void record(boolean failure) {
+        lock.lock();
+        try {
+            switch (state) {
+                case HALF_OPEN:
+                    probeInFlight = false;
+                    if (failure) {
+                        open();
+                    } else {
+                        close();
+                    }
+                    break;
+                case CLOSED:
+                    if (recorded == window.length) {
+                        failures -= window[position] ? 1 : 0;
+                    } else {
+                        recorded++;
+                    }
+                    window[position] = failure;
+                    failures += failure ? 1 : 0;
+                    position = (position + 1) % window.length;
+                    if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                        open();
+                    }
+                    break;
+                default:
+                    // A call admitted before the circuit opened; its outcome changes nothing
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        long now = System.nanoTime();
+        if (state == State.CLOSED) {
+            notClosedSince = now;
+        }
+        state = State.OPEN;
+        openedAt = now;
+        ApiMetrics.recordCircuitOpened(route);
+    }
+
+    private void close() {
+        ApiMetrics.recordCircuitOpenTime(route, System.nanoTime() - notClosedSince);
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.petstore.utils;
+
+/**
+ * Thrown instead of sending a request while the route's {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String route;
+
+    public CircuitOpenException(String route) {
+        super("Circuit open for " + route + ": failing fast without sending the request");
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+}
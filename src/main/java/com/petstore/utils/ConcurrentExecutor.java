@@ -0,0 +1,67 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs independent endpoint calls on virtual threads, one per call, with the number of calls in
+ * flight capped by {@code api.concurrency.max} so a large batch cannot overwhelm the server.
+ */
+public class ConcurrentExecutor {
+
+    public static <T, R> List<R> invokeAll(List<T> items, Function<T, R> call) {
+        return invokeAll(items, call, ApiConfig.getMaxConcurrentCalls());
+    }
+
+    public static <T, R> List<R> invokeAll(List<T> items, Function<T, R> call, int maxConcurrency) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return call.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Concurrent call failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for concurrent calls", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits {@code items} into consecutive sublists of at most {@code size} elements.
+     */
+    public static <T> List<List<T>> partition(List<T> items, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Partition size must be positive: " + size);
+        }
+        List<List<T>> partitions = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            partitions.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return partitions;
+    }
+}
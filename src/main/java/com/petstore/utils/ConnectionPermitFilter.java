@@ -0,0 +1,191 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps REST Assured calls from ever waiting inside the pooled HttpClient. The pool blocks
+ * while holding monitors, which pins virtual threads to their carriers; with every carrier
+ * pinned the callers that would return connections can no longer run. Instead, calls wait here
+ * for a permit (an unpinned park), which is held for as long as the response holds its connection.
+ *
+ * <p>REST Assured reads the body lazily and the connection goes back to the pool only once the
+ * body stream reaches its end or is closed. Bodies of a declared length up to
+ * {@code api.pool.buffer.max.bytes} are read at once, so callers that only check the status
+ * never hold a connection. Longer or chunked bodies are left streaming; the permit is released
+ * when that stream ends or is closed, or, should the caller never read it, when the response is
+ * garbage collected.
+ *
+ * <p>Must be the last of the framework's filters; sending through a spec that adds one after it
+ * fails.
+ */
+public class ConnectionPermitFilter implements Filter {
+    private static final Cleaner unreadBodies = Cleaner.create();
+
+    private final Semaphore totalPermits;
+    private final int maxPerRoute;
+    private final long bufferMaxBytes;
+    private final Map<String, Semaphore> routePermits = new ConcurrentHashMap<>();
+
+    public ConnectionPermitFilter() {
+        this(ApiConfig.getPoolMaxTotal(), ApiConfig.getPoolMaxPerRoute(), ApiConfig.getPoolBufferMaxBytes());
+    }
+
+    public ConnectionPermitFilter(int maxTotal, int maxPerRoute, long bufferMaxBytes) {
+        this.totalPermits = new Semaphore(maxTotal);
+        this.maxPerRoute = maxPerRoute;
+        this.bufferMaxBytes = bufferMaxBytes;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        checkLast(requestSpec.getDefinedFilters());
+        Semaphore route = routePermits.computeIfAbsent(routeOf(requestSpec.getURI()),
+                key -> new Semaphore(maxPerRoute));
+        route.acquireUninterruptibly();
+        totalPermits.acquireUninterruptibly();
+        Permit permit = new Permit(route, totalPermits);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            // REST Assured's own response type; anything else has no connection left to hold
+            if (!(response instanceof RestAssuredResponseOptionsImpl<?> body) || !body.isInputStream()) {
+                permit.release();
+                return response;
+            }
+            String length = response.getHeader("Content-Length");
+            if (length != null && Long.parseLong(length.trim()) <= bufferMaxBytes) {
+                response.getBody().asByteArray();
+                permit.release();
+                return response;
+            }
+            PermitStream stream = new PermitStream((InputStream) body.getContent(), permit);
+            body.setContent(stream);
+            unreadBodies.register(response, stream::closeQuietly);
+            return response;
+        } catch (RuntimeException | Error e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the body of {@code response} is still on the connection, i.e. was neither buffered
+     * here nor read yet; reading it all would undo streaming.
+     */
+    static boolean isStreaming(Response response) {
+        return response instanceof RestAssuredResponseOptionsImpl<?> body && body.isInputStream();
+    }
+
+    // REST Assured appends its own filters, which send the request, after the user-defined ones
+    private void checkLast(List<Filter> filters) {
+        for (int i = filters.size() - 1; i >= 0 && filters.get(i) != this; i--) {
+            if (!filters.get(i).getClass().getName().startsWith("io.restassured.")) {
+                throw new IllegalStateException(filters.get(i).getClass().getName()
+                        + " runs after the ConnectionPermitFilter, which must be the last filter");
+            }
+        }
+    }
+
+    private static String routeOf(String uri) {
+        URI parsed = URI.create(uri);
+        return parsed.getScheme() + "://" + parsed.getHost() + ":" + parsed.getPort();
+    }
+
+    private static final class Permit {
+        private final Semaphore route;
+        private final Semaphore total;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore route, Semaphore total) {
+            this.route = route;
+            this.total = total;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                total.release();
+                route.release();
+            }
+        }
+    }
+
+    // HttpClient returns the connection when the body hits its end or is closed; so does this the permit
+    private static final class PermitStream extends FilterInputStream {
+        private final Permit permit;
+        private volatile boolean ended;
+
+        PermitStream(InputStream body, Permit permit) {
+            super(body);
+            this.permit = permit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return released(super.read());
+            } catch (IOException e) {
+                // HttpClient has already discarded the connection
+                permit.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                return released(super.read(buffer, offset, length));
+            } catch (IOException e) {
+                permit.release();
+                throw e;
+            }
+        }
+
+        // Closing before the end drops the connection; HttpClient would otherwise read out the rest
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!ended && in instanceof ConnectionReleaseTrigger) {
+                    ((ConnectionReleaseTrigger) in).abortConnection();
+                } else {
+                    super.close();
+                }
+            } finally {
+                permit.release();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                close();
+            } catch (IOException e) {
+                // The connection is discarded instead of reused; the permit is released either way
+            }
+        }
+
+        private int released(int read) {
+            if (read == -1) {
+                ended = true;
+                permit.release();
+            }
+            return read;
+        }
+    }
+}
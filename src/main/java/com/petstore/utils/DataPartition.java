@@ -0,0 +1,36 @@
+package com.petstore.utils;
+
+import lombok.Getter;
+import java.util.stream.Stream;
+
+/**
+ * One share of a test data file, handed to a parallel data-driven test. It holds no records;
+ * {@link #stream()} reads them lazily, so a test over millions of rows runs in constant memory.
+ */
+@Getter
+public class DataPartition<T> {
+    private final String fileName;
+    private final Class<T> type;
+    private final int index;
+    private final int count;
+
+    DataPartition(String fileName, Class<T> type, int index, int count) {
+        this.fileName = fileName;
+        this.type = type;
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Records of this partition, read as the stream is consumed; close it when done.
+     */
+    public Stream<T> stream() {
+        return TestDataFiles.stream(fileName, type, index, count);
+    }
+
+    // Shown as the parameter in TestNG and Allure reports
+    @Override
+    public String toString() {
+        return fileName + " [" + (index + 1) + "/" + count + "]";
+    }
+}
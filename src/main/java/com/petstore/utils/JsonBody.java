@@ -0,0 +1,169 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.petstore.api.config.JsonMapperProvider;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A response body parsed once into a Jackson tree, shared by every assertion on that response.
+ * REST Assured's {@code body(path, matcher)} rebuilds a Groovy object graph from the raw body on
+ * each call; here each further assertion is a walk down the tree.
+ *
+ * <p>Paths are either GPath-style ({@code category.name}, {@code tags[0].name}) or JSON
+ * pointers ({@code /category/name}, {@code /tags/0/name}). GPath-style paths only name fields
+ * and non-negative indices: collecting over an array ({@code tags.name}), method calls
+ * ({@code tags.size()}), closures ({@code findAll {...}}) and negative indices are rejected with
+ * an {@link IllegalArgumentException} rather than reported as a missing field.
+ */
+public final class JsonBody {
+    // Keyed by the response, so the tree goes away with it
+    private static final Map<Response, JsonBody> parsed = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, JsonPointer> pointers = new ConcurrentHashMap<>();
+    // Anything GPath evaluates rather than looks up: calls, closures, wildcards, spreads, quotes
+    private static final Pattern UNSUPPORTED = Pattern.compile("[(){}*?,'\"\\s]|\\.\\.|^\\.|\\.$");
+
+    private final JsonNode root;
+
+    private JsonBody(JsonNode root) {
+        this.root = root;
+    }
+
+    /**
+     * The parsed body of {@code response}, parsing it on first use.
+     */
+    public static JsonBody of(Response response) {
+        JsonBody body = parsed.get(response);
+        if (body == null) {
+            body = parse(response);
+            parsed.put(response, body);
+        }
+        return body;
+    }
+
+    private static JsonBody parse(Response response) {
+        byte[] bytes = response.asByteArray();
+        if (bytes == null || bytes.length == 0) {
+            return new JsonBody(MissingNode.getInstance());
+        }
+        try {
+            return new JsonBody(JsonMapperProvider.getObjectMapper().readTree(bytes));
+        } catch (IOException e) {
+            throw new AssertionError("Response body is not JSON: " + response.asString(), e);
+        }
+    }
+
+    /**
+     * The node at {@code path}; a {@code MissingNode} when there is none.
+     *
+     * @throws IllegalArgumentException if a GPath-style path uses more than field names and indices
+     */
+    public JsonNode at(String path) {
+        JsonPointer pointer = pointers.computeIfAbsent(path, JsonBody::compile);
+        return path.startsWith("/") ? root.at(pointer) : walk(path, pointer);
+    }
+
+    public boolean has(String path) {
+        JsonNode node = at(path);
+        return !node.isMissingNode() && !node.isNull();
+    }
+
+    public JsonBody assertExists(String path) {
+        Assert.assertTrue(has(path), "Expected field '" + path + "' in " + root);
+        return this;
+    }
+
+    /**
+     * Numbers compare by value, so {@code 200}, {@code 200L} and {@code 200.0} all match a
+     * body's {@code 200}; anything else compares as its JSON form.
+     */
+    public JsonBody assertValue(String path, Object expected) {
+        JsonNode actual = at(path);
+        Assert.assertTrue(matches(actual, expected),
+                "Field '" + path + "' mismatch. Expected: " + expected + ", actual: " + actual + " in " + root);
+        return this;
+    }
+
+    public JsonBody assertContains(String path, String expectedText) {
+        JsonNode actual = at(path);
+        Assert.assertTrue(actual.isTextual() && actual.textValue().contains(expectedText),
+                "Field '" + path + "' does not contain '" + expectedText + "'. Actual: " + actual);
+        return this;
+    }
+
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    private static boolean matches(JsonNode actual, Object expected) {
+        if (expected == null) {
+            return actual.isNull() || actual.isMissingNode();
+        }
+        if (expected instanceof Number && actual.isNumber()) {
+            return actual.decimalValue().compareTo(JsonMapperProvider.getObjectMapper()
+                    .valueToTree(expected).decimalValue()) == 0;
+        }
+        return actual.equals(JsonMapperProvider.getObjectMapper().valueToTree(expected));
+    }
+
+    // Like root.at(pointer), but a field name applied to an array is GPath's collect, not a lookup
+    private JsonNode walk(String path, JsonPointer pointer) {
+        JsonNode node = root;
+        for (JsonPointer tail = pointer; !tail.matches() && !node.isMissingNode(); tail = tail.tail()) {
+            if (node.isArray()) {
+                if (tail.getMatchingIndex() < 0) {
+                    throw new IllegalArgumentException("Path '" + path + "' reads '" + tail.getMatchingProperty()
+                            + "' from every element of an array, which is not supported; index one, e.g. [0]");
+                }
+                node = node.path(tail.getMatchingIndex());
+            } else {
+                node = node.path(tail.getMatchingProperty());
+            }
+        }
+        return node;
+    }
+
+    // tags[0].name -> /tags/0/name
+    private static JsonPointer compile(String path) {
+        if (path.isEmpty() || path.startsWith("/")) {
+            return JsonPointer.compile(path);
+        }
+        if (UNSUPPORTED.matcher(path).find()) {
+            throw new IllegalArgumentException("Unsupported path syntax: " + path
+                    + "; use field names and [index], or a JSON pointer");
+        }
+        StringBuilder pointer = new StringBuilder();
+        for (String segment : path.split("\\.")) {
+            int bracket = segment.indexOf('[');
+            String name = bracket < 0 ? segment : segment.substring(0, bracket);
+            if (!name.isEmpty()) {
+                pointer.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+            }
+            while (bracket >= 0) {
+                int close = segment.indexOf(']', bracket);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed index in path: " + path);
+                }
+                String index = segment.substring(bracket + 1, close);
+                if (!index.matches("\\d+")) {
+                    throw new IllegalArgumentException("Unsupported index [" + index + "] in path: " + path
+                            + "; only non-negative integers are supported");
+                }
+                pointer.append('/').append(index);
+                bracket = segment.indexOf('[', close);
+                if ((bracket < 0 ? segment.length() : bracket) != close + 1) {
+                    throw new IllegalArgumentException("Unexpected text after [" + index + "] in path: " + path);
+                }
+            }
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+}
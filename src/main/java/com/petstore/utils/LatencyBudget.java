@@ -0,0 +1,44 @@
+package com.petstore.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Turns a test method into a latency check: after {@link #warmup()} discarded invocations the
+ * method is invoked {@link #samples()} more times, {@link #concurrency()} at once, and fails if
+ * a percentile of those invocation times exceeds its budget. The method body should be the call
+ * under test plus cheap assertions. Requires {@link LatencyBudgetListener}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LatencyBudget {
+
+    // Budgets in milliseconds; 0 leaves that percentile unchecked
+    long p50() default 0;
+
+    long p95() default 0;
+
+    long p99() default 0;
+
+    long max() default 0;
+
+    int samples() default 200;
+
+    /**
+     * Untimed invocations before sampling, at least 1: the first is TestNG's own invocation of
+     * the method, which keeps its result tracked as usual.
+     */
+    int warmup() default 20;
+
+    // Invocations in flight at once; 1 measures calls back to back
+    int concurrency() default 1;
+
+    /**
+     * Invocations per second on a fixed schedule, or 0 to invoke back to back. On a schedule the
+     * budgets apply to latency from each invocation's intended start, so a stall is charged to
+     * every invocation queued behind it rather than hidden (see {@link LatencySampler}).
+     */
+    int rate() default 0;
+}
@@ -0,0 +1,132 @@
+package com.petstore.utils;
+
+import io.qameta.allure.Allure;
+import org.HdrHistogram.Histogram;
+import org.testng.IHookCallBack;
+import org.testng.ITestResult;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Evaluates {@link LatencyBudget}-annotated test methods and attaches the latency histogram to
+ * the Allure report, pass or fail. TestNG keeps a single {@link org.testng.IHookable}, so this
+ * listener also runs {@link VirtualThreads} methods and replaces {@link VirtualThreadListener}
+ * in {@code testng.xml}. With a {@link LatencyBudget#rate()}, budgets apply to latency from the
+ * intended start of each invocation, and the report lists the uncorrected values beside it.
+ */
+public class LatencyBudgetListener extends VirtualThreadListener {
+
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+        LatencyBudget budget = method.getAnnotation(LatencyBudget.class);
+        if (budget == null) {
+            super.run(callBack, testResult);
+            return;
+        }
+        requireValid(budget);
+
+        // The first warm-up invocation goes through TestNG's callback so the result is tracked as usual
+        callBack.runTestMethod(testResult);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        String testCase = currentTestCase();
+        IntConsumer invocation = index -> invoke(testResult, testCase, callBack.getParameters(), failure);
+        LatencySampler.sample(budget.warmup() - 1, budget.concurrency(), 0, invocation);
+        LatencySampler.Samples samples = LatencySampler.sample(
+                budget.samples(), budget.concurrency(), budget.rate(), invocation);
+        rethrow(failure.get());
+
+        List<String> violations = violations(budget, samples.getCorrected());
+        String report = describe(budget, samples);
+        Allure.addAttachment("Latency histogram: " + method.getName(), "text/plain", report, ".txt");
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Latency budget exceeded: " + String.join(", ", violations) + "\n" + report);
+        }
+    }
+
+    /**
+     * @param latency invocation times in microseconds
+     * @return one entry per percentile over budget, e.g. {@code p99 912.00 ms > 800 ms}
+     */
+    public static List<String> violations(LatencyBudget budget, Histogram latency) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", millis(latency.getValueAtPercentile(50)), budget.p50());
+        check(violations, "p95", millis(latency.getValueAtPercentile(95)), budget.p95());
+        check(violations, "p99", millis(latency.getValueAtPercentile(99)), budget.p99());
+        check(violations, "max", millis(latency.getMaxValue()), budget.max());
+        return violations;
+    }
+
+    private static void requireValid(LatencyBudget budget) {
+        if (budget.warmup() < 1) {
+            throw new IllegalArgumentException("warmup counts TestNG's own invocation and must be at least 1, got "
+                    + budget.warmup());
+        }
+        // A percentile is only meaningful if at least one sample falls above it
+        double highest = budget.p99() > 0 ? 99 : budget.p95() > 0 ? 95 : 50;
+        int needed = (int) Math.ceil(100 / (100 - highest));
+        if (budget.samples() < needed) {
+            throw new IllegalArgumentException(
+                    "A p" + (int) highest + " budget needs at least " + needed + " samples, got " + budget.samples());
+        }
+    }
+
+    private static void check(List<String> violations, String name, double actualMillis, long budgetMillis) {
+        if (budgetMillis > 0 && actualMillis > budgetMillis) {
+            violations.add(String.format(Locale.ROOT, "%s %.2f ms > %d ms", name, actualMillis, budgetMillis));
+        }
+    }
+
+    private static String describe(LatencyBudget budget, LatencySampler.Samples samples) {
+        Histogram latency = samples.getCorrected();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "samples=%d warmup=%d concurrency=%d rate=%s%n",
+                latency.getTotalCount(), budget.warmup(), budget.concurrency(),
+                samples.isScheduled() ? samples.getRatePerSecond() + "/s" : "back-to-back"));
+        line(sb, "p50", 50, samples, budget.p50());
+        line(sb, "p95", 95, samples, budget.p95());
+        line(sb, "p99", 99, samples, budget.p99());
+        line(sb, "max", 100, samples, budget.max());
+
+        ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(distribution, true, StandardCharsets.UTF_8)) {
+            latency.outputPercentileDistribution(out, 5, 1000.0);
+        }
+        return sb.append(samples.isScheduled()
+                        ? "\nPercentile distribution from intended start (ms):\n"
+                        : "\nPercentile distribution (ms):\n")
+                .append(distribution.toString(StandardCharsets.UTF_8))
+                .toString();
+    }
+
+    // On a schedule the uncorrected value follows, for comparison
+    private static void line(StringBuilder sb, String name, double percentile, LatencySampler.Samples samples,
+                             long budgetMillis) {
+        long micros = valueAt(samples.getCorrected(), percentile);
+        sb.append(String.format(Locale.ROOT, "%s = %8.2f ms", name, millis(micros)));
+        if (samples.isScheduled()) {
+            sb.append(String.format(Locale.ROOT, " (uncorrected %8.2f ms)",
+                    millis(valueAt(samples.getUncorrected(), percentile))));
+        }
+        if (budgetMillis > 0) {
+            sb.append(String.format(Locale.ROOT, "  budget %d ms %s",
+                    budgetMillis, millis(micros) > budgetMillis ? "EXCEEDED" : "ok"));
+        }
+        sb.append(System.lineSeparator());
+    }
+
+    private static long valueAt(Histogram latency, double percentile) {
+        return percentile >= 100 ? latency.getMaxValue() : latency.getValueAtPercentile(percentile);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.petstore.utils;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Times repeated invocations of a call, in microseconds.
+ *
+ * <p>Back to back, each invocation is timed from its own start. On a fixed-rate schedule it is
+ * also timed from its intended start: when one invocation stalls, those scheduled behind it
+ * start late, and that wait is what a user arriving at that moment would see. Timing only from
+ * the actual start hides it (coordinated omission), so both histograms are kept.
+ */
+public final class LatencySampler {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Latencies of one sampling run. Without a schedule both histograms are the same.
+     */
+    @Getter
+    public static final class Samples {
+        // From the intended start on the schedule
+        private final Histogram corrected;
+        // From the moment each invocation actually started
+        private final Histogram uncorrected;
+        private final int ratePerSecond;
+
+        private Samples(Histogram corrected, Histogram uncorrected, int ratePerSecond) {
+            this.corrected = corrected;
+            this.uncorrected = uncorrected;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public boolean isScheduled() {
+            return ratePerSecond > 0;
+        }
+    }
+
+    private LatencySampler() {
+    }
+
+    /**
+     * @param concurrency   invocations in flight at most; on a schedule, an invocation that finds
+     *                      them all busy waits, and the wait counts towards its corrected latency
+     * @param ratePerSecond intended invocation rate, or 0 to invoke back to back
+     * @param invocation    called with the sample index; the first exception it throws is rethrown
+     *                      once all invocations are done
+     */
+    public static Samples sample(int count, int concurrency, int ratePerSecond, IntConsumer invocation) {
+        Histogram uncorrected = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        if (ratePerSecond <= 0) {
+            ConcurrentExecutor.invokeAll(IntStream.range(0, count).boxed().collect(Collectors.toList()), index -> {
+                time(index, System.nanoTime(), invocation, failure, uncorrected, null);
+                return null;
+            }, Math.max(1, concurrency));
+            rethrow(failure);
+            return new Samples(uncorrected, uncorrected, 0);
+        }
+
+        Histogram corrected = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        Semaphore inFlight = new Semaphore(Math.max(1, concurrency));
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long intendedStart = start + i * intervalNanos;
+                for (long wait = intendedStart - System.nanoTime(); wait > 0; wait = intendedStart - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        time(index, intendedStart, invocation, failure, uncorrected, corrected);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        rethrow(failure);
+        return new Samples(corrected, uncorrected, ratePerSecond);
+    }
+
+    private static void time(int index, long intendedStart, IntConsumer invocation,
+                             AtomicReference<RuntimeException> failure, Histogram uncorrected, Histogram corrected) {
+        long start = System.nanoTime();
+        try {
+            invocation.accept(index);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            long end = System.nanoTime();
+            uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(end - start));
+            if (corrected != null) {
+                corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(end - intendedStart));
+            }
+        }
+    }
+
+    private static void rethrow(AtomicReference<RuntimeException> failure) {
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
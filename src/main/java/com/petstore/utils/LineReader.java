@@ -0,0 +1,106 @@
+package com.petstore.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the UTF-8 lines that start within a byte range of a file, through a fixed-size buffer.
+ * A line that starts in the range is read to its end even past the range, and a line cut by the
+ * range's start is left to the previous range, so adjacent ranges split a file into disjoint
+ * sets of whole lines.
+ */
+final class LineReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] line = new byte[256];
+    private int length;
+    // File offset of the next unread byte, and of the line last returned
+    private long position;
+    private long lineStart;
+
+    LineReader(Path path, long start, long end) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.end = end;
+        buffer.limit(0);
+        if (start > 0) {
+            // Skip the tail of the line that began in the previous range
+            position = start - 1;
+            channel.position(position);
+            readLine();
+        }
+    }
+
+    /**
+     * @return the next line starting before the end of the range, without its line terminator,
+     *         or {@code null} when there is none
+     */
+    String next() throws IOException {
+        if (position >= end) {
+            return null;
+        }
+        lineStart = position;
+        return readLine() ? decode() : null;
+    }
+
+    long getLineStart() {
+        return lineStart;
+    }
+
+    private boolean readLine() throws IOException {
+        length = 0;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int count = channel.read(buffer);
+                buffer.flip();
+                if (count <= 0) {
+                    return read;
+                }
+            }
+            read = true;
+            byte[] bytes = buffer.array();
+            int from = buffer.position();
+            int limit = buffer.limit();
+            int newline = from;
+            while (newline < limit && bytes[newline] != '\n') {
+                newline++;
+            }
+            append(bytes, from, newline - from);
+            if (newline < limit) {
+                buffer.position(newline + 1);
+                position += newline + 1 - from;
+                return true;
+            }
+            buffer.position(limit);
+            position += limit - from;
+        }
+    }
+
+    private void append(byte[] bytes, int from, int count) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+        }
+        System.arraycopy(bytes, from, line, length, count);
+        length += count;
+    }
+
+    private String decode() {
+        int trimmed = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return new String(line, 0, trimmed, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
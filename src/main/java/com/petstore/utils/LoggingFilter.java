@@ -1,5 +1,6 @@
 package com.petstore.utils;
 
+import com.petstore.api.config.ApiConfig;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
@@ -7,33 +8,109 @@ import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Logs each exchange as a single entry whose detail is driven by {@code api.log.level}.
+ * Bodies are only rendered at FULL and are truncated to {@code api.log.body.max.length}. A response
+ * body that {@link ConnectionPermitFilter} left streaming is not logged, since reading it here would
+ * load all of it into memory before the caller sees the first byte.
+ */
 public class LoggingFilter implements Filter {
     private static final Logger logger = LoggerFactory.getLogger(LoggingFilter.class);
 
+    public enum Level {
+        OFF, SUMMARY, HEADERS, FULL;
+
+        public static Level fromConfig(boolean enabled, String value) {
+            if (!enabled) {
+                return OFF;
+            }
+            String normalized = value.trim().toUpperCase(Locale.ROOT);
+            return "ALL".equals(normalized) ? FULL : Level.valueOf(normalized);
+        }
+    }
+
+    private final Level level;
+    private final int bodyMaxLength;
+
+    public LoggingFilter() {
+        this(Level.fromConfig(ApiConfig.isLogEnabled(), ApiConfig.getLogLevel()), ApiConfig.getLogBodyMaxLength());
+    }
+
+    /**
+     * Logs at {@code api.log.level}, but at most at {@code max}.
+     */
+    public static LoggingFilter atMost(Level max) {
+        Level configured = Level.fromConfig(ApiConfig.isLogEnabled(), ApiConfig.getLogLevel());
+        return new LoggingFilter(configured.compareTo(max) <= 0 ? configured : max, ApiConfig.getLogBodyMaxLength());
+    }
+
+    public LoggingFilter(Level level, int bodyMaxLength) {
+        this.level = level;
+        this.bodyMaxLength = bodyMaxLength;
+    }
+
     @Override
     public Response filter(FilterableRequestSpecification requestSpec,
                            FilterableResponseSpecification responseSpec,
                            FilterContext ctx) {
-
-        // Log Request
-        logger.info("===== REQUEST =====");
-        logger.info("Method: {} {}", requestSpec.getMethod(), requestSpec.getURI());
-        logger.info("Headers: {}", requestSpec.getHeaders());
-
-        if (requestSpec.getBody() != null) {
-            logger.info("Body: {}", (Object) requestSpec.getBody());
+        if (level == Level.OFF || !logger.isInfoEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
         }
 
+        long start = System.nanoTime();
         Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        StringBuilder entry = new StringBuilder(128)
+                .append(requestSpec.getMethod()).append(' ').append(requestSpec.getURI())
+                .append(" -> ").append(response.getStatusCode())
+                .append(" (").append(elapsedMs).append(" ms)");
 
-        // Log Response
-        logger.info("===== RESPONSE =====");
-        logger.info("Status Code: {}", response.getStatusCode());
-        logger.info("Headers: {}", response.getHeaders());
-        logger.info("Body: {}", response.getBody().asString());
-        logger.info("Response Time: {} ms", response.getTime());
+        if (level.compareTo(Level.HEADERS) >= 0) {
+            entry.append("\n  Request headers: ").append(requestSpec.getHeaders().asList())
+                    .append("\n  Response headers: ").append(response.getHeaders().asList());
+        }
+        if (level == Level.FULL) {
+            Object requestBody = requestSpec.getBody();
+            if (requestBody instanceof byte[]) {
+                entry.append("\n  Request body: ").append(truncate((byte[]) requestBody));
+            } else if (requestBody != null) {
+                entry.append("\n  Request body: ").append(truncate(String.valueOf(requestBody)));
+            }
+            entry.append("\n  Response body: ").append(ConnectionPermitFilter.isStreaming(response)
+                    ? "(streamed, not logged)"
+                    : truncate(response.getBody().asByteArray()));
+        }
 
+        logger.info(entry.toString());
         return response;
     }
+
+    private String truncate(String body) {
+        if (body.length() <= bodyMaxLength) {
+            return body;
+        }
+        // Never split a surrogate pair
+        int end = bodyMaxLength > 0 && Character.isHighSurrogate(body.charAt(bodyMaxLength - 1))
+                ? bodyMaxLength - 1
+                : bodyMaxLength;
+        return body.substring(0, end) + "... (" + body.length() + " chars)";
+    }
+
+    // Decodes only the leading bytes instead of materializing the whole payload as a String
+    private String truncate(byte[] body) {
+        if (body.length <= bodyMaxLength) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        // Back up to the first byte of the character the limit falls in (continuation bytes are 10xxxxxx)
+        int end = bodyMaxLength;
+        while (end > 0 && (body[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(body, 0, end, StandardCharsets.UTF_8) + "... (" + body.length + " bytes)";
+    }
 }
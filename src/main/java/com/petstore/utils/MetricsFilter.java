@@ -0,0 +1,38 @@
+package com.petstore.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records every call into {@link ApiMetrics}, keyed by method and the unresolved path template
+ * (so {@code /pet/1} and {@code /pet/2} share {@code GET /pet/{petId}}).
+ *
+ * <p>A body still streaming when the chain returns (see {@link ConnectionPermitFilter}) has only
+ * been timed to its first byte, so it is recorded under {@link ApiMetrics#firstByteKey} instead,
+ * keeping each key's percentiles to one kind of measurement.
+ */
+public class MetricsFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String key = ApiMetrics.key(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        long start = System.nanoTime();
+        int statusCode = -1;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            statusCode = response.getStatusCode();
+            if (response instanceof RestAssuredResponseOptionsImpl<?> body && body.isInputStream()) {
+                key = ApiMetrics.firstByteKey(key);
+            }
+            return response;
+        } finally {
+            ApiMetrics.record(key, System.nanoTime() - start, statusCode);
+        }
+    }
+}
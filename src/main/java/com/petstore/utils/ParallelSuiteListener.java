@@ -0,0 +1,38 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import java.util.List;
+
+/**
+ * Sizes the suite's worker pool from the machine instead of a fixed {@code thread-count}:
+ * {@code test.parallel.threads}, or {@value #THREADS_PER_CORE} per core when that is 0, since
+ * the tests mostly wait on I/O. With {@code test.parallel.enabled=false} everything runs on
+ * one thread, which helps when reading logs.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    static final int THREADS_PER_CORE = 4;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = ApiConfig.getParallelThreads() > 0
+                ? ApiConfig.getParallelThreads()
+                : Runtime.getRuntime().availableProcessors() * THREADS_PER_CORE;
+        for (XmlSuite suite : suites) {
+            if (!ApiConfig.isParallelEnabled()) {
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+                suite.getTests().forEach(test -> test.setParallel(XmlSuite.ParallelMode.NONE));
+                continue;
+            }
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            for (XmlTest test : suite.getTests()) {
+                if (test.getParallel().isParallel()) {
+                    test.setThreadCount(threads);
+                }
+            }
+        }
+    }
+}
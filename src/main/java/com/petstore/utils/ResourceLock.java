@@ -0,0 +1,26 @@
+package com.petstore.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the shared resources a test method uses, e.g. a fixture or server-side state such as
+ * the login session. Methods that only read a resource run alongside each other; a method that
+ * writes it runs alone against every other holder. On a class it applies to all of its test
+ * methods. Requires {@link ResourceLockListener}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ResourceLock {
+
+    enum Mode {
+        READ,
+        READ_WRITE
+    }
+
+    String[] value();
+
+    Mode mode() default Mode.READ_WRITE;
+}
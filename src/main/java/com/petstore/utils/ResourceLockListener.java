@@ -0,0 +1,67 @@
+package com.petstore.utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lets test methods run in parallel by default and serializes only those whose
+ * {@link ResourceLock}s conflict. Locks are taken in name order, so two methods holding several
+ * resources cannot deadlock, and released on the same worker thread once the method finishes.
+ */
+public class ResourceLockListener implements IInvokedMethodListener {
+    private static final Map<String, ReentrantReadWriteLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Deque<Lock>> held = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Deque<Lock> locks = held.get();
+        resourcesOf(method).forEach((name, mode) -> {
+            ReentrantReadWriteLock lock = LOCKS.computeIfAbsent(name, key -> new ReentrantReadWriteLock(true));
+            Lock acquired = mode == ResourceLock.Mode.READ ? lock.readLock() : lock.writeLock();
+            acquired.lock();
+            locks.push(acquired);
+        });
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Deque<Lock> locks = held.get();
+        while (!locks.isEmpty()) {
+            locks.pop().unlock();
+        }
+    }
+
+    // Class and method declarations merged by name; READ_WRITE wins when both name a resource
+    private static Map<String, ResourceLock.Mode> resourcesOf(IInvokedMethod method) {
+        Method javaMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        Map<String, ResourceLock.Mode> resources = new TreeMap<>();
+        for (ResourceLock lock : new ResourceLock[] {
+                javaMethod.getDeclaringClass().getAnnotation(ResourceLock.class),
+                javaMethod.getAnnotation(ResourceLock.class)}) {
+            if (lock == null) {
+                continue;
+            }
+            for (String name : lock.value()) {
+                resources.merge(name, lock.mode(),
+                        (a, b) -> a == ResourceLock.Mode.READ_WRITE ? a : b);
+            }
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,360 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side cache for successful GETs, keyed by the full request URI (path and query) and the
+ * request headers that select a representation or identity ({@link #VARY_HEADERS}); a response
+ * that varies on any other header is not stored. Bounded by entry count and bytes with LRU
+ * eviction; every entry expires {@code ttl} after it was stored. A write (POST, PUT, PATCH,
+ * DELETE) invalidates its top-level resource once it completes, e.g. a {@code PUT /pet} drops
+ * every cached {@code /pet/...} read, plus the reads derived from it ({@code /store/inventory}
+ * counts pets by status).
+ *
+ * <p>Every invalidation bumps a generation per resource prefix. A GET notes the generations of
+ * its path's prefixes before it is sent and is not stored if any changed meanwhile, since a write
+ * that completed while it was in flight may not be reflected in its body.
+ *
+ * <p>A request with {@code Cache-Control: no-cache} skips the lookup and refreshes the entry;
+ * one with {@code no-store} bypasses the cache, so a body the caller streams is never read here.
+ * Only responses that declare a {@code Content-Length} within the byte bound are stored.
+ * Hits are rebuilt from an immutable snapshot, so callers never share a Response instance.
+ * Place it before {@link MetricsFilter}, so that metrics only see calls that reach the server.
+ * Only REST Assured traffic passes through it: writes sent by the async client do not invalidate.
+ */
+public class ResponseCacheFilter implements Filter {
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Map<String, Set<String>> DERIVED_READS = Map.of("pet", Set.of("store/inventory"));
+    static final List<String> VARY_HEADERS =
+            List.of("Accept", "Accept-Encoding", "Accept-Language", "Authorization", "api_key");
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    // Access-ordered: iteration starts at the least recently used entry. A ReentrantLock rather
+    // than synchronized, so virtual threads waiting for it do not pin their carriers.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long bytes;
+    // Resource prefix -> number of invalidations; written under the lock
+    private final Map<String, Long> generations = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private static class Entry {
+        final String path;
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final String contentType;
+        final byte[] body;
+        final long size;
+        final long expiresAt;
+
+        Entry(String key, String path, Response response, long expiresAt) {
+            this.path = path;
+            this.statusCode = response.getStatusCode();
+            this.statusLine = response.getStatusLine();
+            this.headers = response.getHeaders();
+            this.contentType = response.getContentType();
+            this.body = response.getBody().asByteArray();
+            this.size = body.length + 2L * key.length();
+            this.expiresAt = expiresAt;
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+
+    public ResponseCacheFilter() {
+        this(ApiConfig.getCacheTtlMillis(), ApiConfig.getCacheMaxEntries(), ApiConfig.getCacheMaxBytes());
+    }
+
+    public ResponseCacheFilter(long ttlMillis, int maxEntries, long maxBytes) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String uri = requestSpec.getURI();
+        String path = stripQuery(uri);
+        String method = requestSpec.getMethod().toUpperCase();
+        if (WRITE_METHODS.contains(method)) {
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                invalidate(resourcePrefixes(requestSpec, path));
+            }
+        }
+        // no-store: the caller wants the live body, e.g. to stream it
+        if (!"GET".equals(method) || isNoStore(requestSpec.getHeaders().getValue("Cache-Control"))) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = key(uri, requestSpec.getHeaders());
+        if (!"no-cache".equalsIgnoreCase(requestSpec.getHeaders().getValue("Cache-Control"))) {
+            Entry cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return cached.toResponse();
+            }
+        }
+        misses.increment();
+        List<String> prefixes = ancestors(requestSpec, path);
+        long[] generationsBefore = generationsOf(prefixes);
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.getStatusCode() == 200 && fits(key, response) && isStorable(response)) {
+            store(key, new Entry(key, path, response, System.nanoTime() + ttlNanos), prefixes, generationsBefore);
+        }
+        return response;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getByteSize() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String summary() {
+        return String.format("%d hits, %d misses, %d evicted, %d invalidated, %d entries (%d bytes)",
+                getHits(), getMisses(), getEvictions(), getInvalidations(), size(), getByteSize());
+    }
+
+    private Entry lookup(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, Entry entry, List<String> prefixes, long[] generationsBefore) {
+        if (entry.size > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (int i = 0; i < prefixes.size(); i++) {
+                if (generations.getOrDefault(prefixes.get(i), 0L) != generationsBefore[i]) {
+                    // Invalidated while in flight: the body may predate the write
+                    return;
+                }
+            }
+            remove(key);
+            entries.put(key, entry);
+            bytes += entry.size;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().size;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long[] generationsOf(List<String> prefixes) {
+        long[] result = new long[prefixes.size()];
+        lock.lock();
+        try {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = generations.getOrDefault(prefixes.get(i), 0L);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    private void invalidate(List<String> prefixes) {
+        lock.lock();
+        try {
+            for (String prefix : prefixes) {
+                generations.merge(prefix, 1L, Long::sum);
+            }
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                for (String prefix : prefixes) {
+                    if (entry.path.equals(prefix) || entry.path.startsWith(prefix + "/")) {
+                        bytes -= entry.size;
+                        iterator.remove();
+                        invalidations.increment();
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    // "http://host/v2/pet/5" with derived path "/pet/5" -> ["http://host/v2/pet", "http://host/v2/store/inventory"]
+    private static List<String> resourcePrefixes(FilterableRequestSpecification requestSpec, String path) {
+        String root = root(requestSpec, path);
+        String resource = stripTrailingSlash(path).substring(root.length() + 1).split("/")[0];
+        List<String> prefixes = new ArrayList<>();
+        prefixes.add(root + "/" + resource);
+        for (String derivedRead : DERIVED_READS.getOrDefault(resource, Set.of())) {
+            prefixes.add(root + "/" + derivedRead);
+        }
+        return prefixes;
+    }
+
+    // Every prefix an invalidation could name: "http://host/v2/store/inventory" ->
+    // ["http://host/v2/store", "http://host/v2/store/inventory"]
+    private static List<String> ancestors(FilterableRequestSpecification requestSpec, String path) {
+        String root = root(requestSpec, path);
+        List<String> ancestors = new ArrayList<>();
+        StringBuilder prefix = new StringBuilder(root);
+        for (String segment : stripTrailingSlash(path).substring(root.length() + 1).split("/")) {
+            ancestors.add(prefix.append('/').append(segment).toString());
+        }
+        return ancestors;
+    }
+
+    // The URI up to the API's base path: "http://host/v2/pet/5" with derived path "/pet/5" -> "http://host/v2"
+    private static String root(FilterableRequestSpecification requestSpec, String path) {
+        String derived = stripTrailingSlash(requestSpec.getDerivedPath());
+        int segments = (derived.startsWith("/") ? derived.substring(1) : derived).split("/").length;
+        // Walk back by segment rather than by length: the URI may be percent-encoded
+        String root = stripTrailingSlash(path);
+        for (int i = 0; i < segments && root.lastIndexOf('/') > 0; i++) {
+            root = root.substring(0, root.lastIndexOf('/'));
+        }
+        return root;
+    }
+
+    private static String key(String uri, Headers headers) {
+        StringBuilder key = new StringBuilder(uri);
+        for (String name : VARY_HEADERS) {
+            String value = headers.getValue(name);
+            if (value != null) {
+                key.append('\n').append(name).append(": ").append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    // A Vary on a header outside the key, or Cache-Control: no-store, rules the response out
+    // Decided from the declared length, before the body is read; one of unknown length is never read here
+    private boolean fits(String key, Response response) {
+        String length = response.getHeader("Content-Length");
+        return length != null && Long.parseLong(length.trim()) + 2L * key.length() <= maxBytes;
+    }
+
+    private static boolean isNoStore(String cacheControl) {
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    private static boolean isStorable(Response response) {
+        if (isNoStore(response.getHeader("Cache-Control"))) {
+            return false;
+        }
+        String vary = response.getHeader("Vary");
+        if (vary == null) {
+            return true;
+        }
+        for (String name : vary.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty() && VARY_HEADERS.stream().noneMatch(trimmed::equalsIgnoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripQuery(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
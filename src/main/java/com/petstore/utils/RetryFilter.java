@@ -0,0 +1,186 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Retries transient failures (5xx responses and I/O errors such as connection resets) with
+ * exponential backoff and jitter, honouring {@code Retry-After} (a wait longer than the maximum
+ * backoff is not retried at all). Only idempotent methods are retried unless configured otherwise.
+ * Every attempt first asks the route's {@link CircuitBreaker}; while it is open calls fail fast with
+ * {@link CircuitOpenException} instead of queueing up on a struggling backend. Should it open
+ * between attempts, the last attempt's response or exception is passed on instead.
+ *
+ * <p>A REST Assured filter chain can only be walked once, so retries are re-sent through the whole
+ * spec and go through every filter again. Must be the first filter, so that each attempt is logged
+ * and measured exactly once.
+ */
+public class RetryFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(RetryFilter.class);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    // Set while a retry is re-sent, so the nested pass through this filter goes straight on
+    private static final ThreadLocal<Boolean> resending = new ThreadLocal<>();
+
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean retryNonIdempotent;
+    private final Function<String, CircuitBreaker> breakerFactory;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public RetryFilter() {
+        this(ApiConfig.getRetryCount(), ApiConfig.getRetryBackoffMillis(), ApiConfig.getRetryMaxBackoffMillis(),
+                ApiConfig.isRetryNonIdempotent(), route -> new CircuitBreaker(route,
+                        ApiConfig.getCircuitWindowSize(), ApiConfig.getCircuitMinimumCalls(),
+                        ApiConfig.getCircuitFailureRate(), ApiConfig.getCircuitOpenMillis()));
+    }
+
+    /**
+     * @param breakerFactory creates the breaker for a route ({@code scheme://host:port})
+     */
+    public RetryFilter(int maxRetries, long baseBackoffMillis, long maxBackoffMillis, boolean retryNonIdempotent,
+                       Function<String, CircuitBreaker> breakerFactory) {
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryNonIdempotent = retryNonIdempotent;
+        this.breakerFactory = breakerFactory;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (Boolean.TRUE.equals(resending.get())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String method = requestSpec.getMethod().toUpperCase();
+        String route = routeOf(requestSpec.getURI());
+        CircuitBreaker breaker = breakers.computeIfAbsent(route, breakerFactory);
+        boolean retryable = retryNonIdempotent || IDEMPOTENT_METHODS.contains(method);
+
+        Response response = null;
+        Exception failure = null;
+        for (int attempt = 0; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                if (attempt == 0) {
+                    throw new CircuitOpenException(route);
+                }
+                // Opened between attempts: the caller gets the real failure, not a synthetic one
+                return giveUp(response, failure);
+            }
+            response = null;
+            failure = null;
+            try {
+                response = attempt == 0 ? ctx.next(requestSpec, responseSpec) : resend(requestSpec);
+            } catch (Exception e) {
+                failure = e;
+            }
+
+            boolean transientFailure = failure != null ? isTransient(failure) : response.getStatusCode() >= 500;
+            if (transientFailure) {
+                breaker.onFailure();
+            } else {
+                // Anything else, including 4xx, says the backend is up
+                breaker.onSuccess();
+            }
+            if (!transientFailure || !retryable || attempt >= maxRetries) {
+                return giveUp(response, failure);
+            }
+            long backoff = backoffMillis(attempt, response);
+            if (backoff < 0) {
+                logger.debug(method + " " + requestSpec.getURI() + " asked to retry after more than "
+                        + maxBackoffMillis + " ms, not retrying");
+                return response;
+            }
+
+            ApiMetrics.recordRetry(ApiMetrics.key(method, requestSpec.getUserDefinedPath()));
+            logger.debug(method + " " + requestSpec.getURI() + " failed ("
+                    + (failure != null ? failure.toString() : response.getStatusCode())
+                    + "), retry " + (attempt + 1) + "/" + maxRetries + " in " + backoff + " ms");
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return giveUp(response, failure);
+            }
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker(String route) {
+        return breakers.get(route);
+    }
+
+    /**
+     * Equal jitter: at least half the exponential step, so retries never bunch up at zero. A
+     * {@code Retry-After} in seconds is waited out in full; -1 when it is longer than
+     * {@code maxBackoffMillis}, since retrying any earlier would just be refused again.
+     */
+    private long backoffMillis(int attempt, Response response) {
+        long step = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 30));
+        long backoff = step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+        String retryAfter = response != null ? response.getHeader("Retry-After") : null;
+        if (retryAfter != null && retryAfter.trim().matches("\\d{1,9}")) {
+            long retryAfterMillis = Long.parseLong(retryAfter.trim()) * 1000;
+            if (retryAfterMillis > maxBackoffMillis) {
+                return -1;
+            }
+            backoff = Math.max(backoff, retryAfterMillis);
+        }
+        return backoff;
+    }
+
+    private static Response giveUp(Response response, Exception failure) {
+        if (failure != null) {
+            throw RetryFilter.<RuntimeException>sneakyThrow(failure);
+        }
+        return response;
+    }
+
+    // The merged spec carries the named and unnamed path params, so the same path is resolved again
+    private static Response resend(FilterableRequestSpecification requestSpec) {
+        resending.set(Boolean.TRUE);
+        try {
+            return given()
+                    .spec(requestSpec)
+                    .request(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        } finally {
+            resending.remove();
+        }
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REST Assured lets checked I/O exceptions escape undeclared; rethrow them unchanged
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow(Throwable failure) throws E {
+        throw (E) failure;
+    }
+
+    private static String routeOf(String uri) {
+        URI parsed = URI.create(uri);
+        return parsed.getScheme() + "://" + parsed.getHost() + ":" + parsed.getPort();
+    }
+}
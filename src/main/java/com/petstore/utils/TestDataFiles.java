@@ -0,0 +1,329 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.JsonMapperProvider;
+import org.testng.ITestContext;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams {@code Pet}, {@code User} and {@code Order} records (or any model) from files under
+ * {@code test.data.path} into data-driven tests, without ever holding the file in memory:
+ * <ul>
+ *   <li>{@code .jsonl}: one JSON object per line</li>
+ *   <li>{@code .csv}: a header row of property names, then one record per line. A dotted name
+ *   such as {@code category.name} fills a nested object, a name ending in {@code []} such as
+ *   {@code photoUrls[]} takes {@code |}-separated values, and an empty cell leaves the property
+ *   unset. Quoted cells may contain commas but not line breaks.</li>
+ *   <li>{@code .json}: one JSON array of objects</li>
+ * </ul>
+ * Line-based files are partitioned by byte range, so each partition reads only its own slice.
+ * A {@code .json} array has no such boundaries, so every partition tokenizes the whole array
+ * and binds only every n-th record.
+ *
+ * <p>TestNG keeps a result per invocation, so a data provider that yields one invocation per
+ * record grows with the file. {@link #records} is meant for small files; for large ones,
+ * {@link #partitions} yields one invocation per parallel thread, each streaming its share.
+ */
+public final class TestDataFiles {
+    private static final ObjectMapper mapper = JsonMapperProvider.getObjectMapper();
+    private static final Cleaner unclosedFiles = Cleaner.create();
+
+    private TestDataFiles() {
+    }
+
+    /**
+     * @param fileName a path relative to {@code test.data.path}, or an absolute path
+     */
+    public static Path resolve(String fileName) {
+        Path path = Paths.get(fileName);
+        return path.isAbsolute() ? path : Paths.get(ApiConfig.getTestDataPath()).resolve(path);
+    }
+
+    public static <T> Stream<T> stream(String fileName, Class<T> type) {
+        return stream(fileName, type, 0, 1);
+    }
+
+    /**
+     * Records of one of {@code partitions} disjoint shares of the file, read lazily; close the
+     * stream when done. Together the shares hold every record exactly once.
+     */
+    public static <T> Stream<T> stream(String fileName, Class<T> type, int partition, int partitions) {
+        if (partitions <= 0 || partition < 0 || partition >= partitions) {
+            throw new IllegalArgumentException("Partition " + partition + " of " + partitions);
+        }
+        Path path = resolve(fileName);
+        ObjectReader reader = mapper.readerFor(type);
+        try {
+            switch (Format.of(path)) {
+                case JSON_LINES:
+                    return lines(path, partition, partitions, false, reader::readValue);
+                case CSV:
+                    String[] header = parseCsvLine(readHeader(path));
+                    return lines(path, partition, partitions, true,
+                            line -> reader.readValue(toNode(header, parseCsvLine(line))));
+                default:
+                    return jsonArray(path, reader, partition, partitions);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+
+    /**
+     * For a {@code @DataProvider} over a small file: one test invocation per record, read as
+     * TestNG asks for the next one. The file is closed at its end or on a bad record; TestNG
+     * never closes a provider it stops asking, so one abandoned early is closed once unreachable.
+     */
+    public static <T> Iterator<Object[]> records(String fileName, Class<T> type) {
+        Stream<T> records = stream(fileName, type);
+        Iterator<T> iterator = records.iterator();
+        Iterator<Object[]> provider = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                boolean more;
+                try {
+                    more = iterator.hasNext();
+                } catch (RuntimeException e) {
+                    records.close();
+                    throw e;
+                }
+                if (!more) {
+                    records.close();
+                }
+                return more;
+            }
+
+            @Override
+            public Object[] next() {
+                try {
+                    return new Object[] {iterator.next()};
+                } catch (RuntimeException e) {
+                    records.close();
+                    throw e;
+                }
+            }
+        };
+        unclosedFiles.register(provider, records::close);
+        return provider;
+    }
+
+    /**
+     * For a {@code @DataProvider(parallel = true)} over a large file: one {@link DataPartition}
+     * per invocation.
+     */
+    public static <T> Object[][] partitions(String fileName, Class<T> type, int count) {
+        Object[][] partitions = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Object[] {new DataPartition<>(fileName, type, i, count)};
+        }
+        return partitions;
+    }
+
+    /**
+     * As many partitions as {@code test.data.partitions}, or as the suite has data provider
+     * threads when that is 0.
+     */
+    public static <T> Object[][] partitions(String fileName, Class<T> type, ITestContext context) {
+        int count = ApiConfig.getTestDataPartitions() > 0
+                ? ApiConfig.getTestDataPartitions()
+                : context.getSuite().getXmlSuite().getDataProviderThreadCount();
+        return partitions(fileName, type, Math.max(1, count));
+    }
+
+    private enum Format {
+        JSON_LINES, CSV, JSON;
+
+        static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSON_LINES;
+            }
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".json")) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("Unsupported test data file: " + path);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineParser<T> {
+
+        T parse(String line) throws IOException;
+    }
+
+    private static <T> Stream<T> lines(Path path, int partition, int partitions, boolean hasHeader,
+                                       LineParser<T> parser) throws IOException {
+        long size = Files.size(path);
+        long start = size * partition / partitions;
+        long end = size * (partition + 1) / partitions;
+        LineReader lines = new LineReader(path, start, end);
+        Spliterator<T> records = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    for (String line = lines.next(); line != null; line = lines.next()) {
+                        if (line.isBlank() || (hasHeader && lines.getLineStart() == 0)) {
+                            continue;
+                        }
+                        T record;
+                        try {
+                            record = parser.parse(line);
+                        } catch (IOException | RuntimeException e) {
+                            throw new IllegalArgumentException(
+                                    "Bad record at byte " + lines.getLineStart() + " of " + path + ": " + e.getMessage(), e);
+                        }
+                        action.accept(record);
+                        return true;
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read " + path, e);
+                }
+            }
+        };
+        return StreamSupport.stream(records, false).onClose(() -> closeQuietly(lines));
+    }
+
+    private static <T> Stream<T> jsonArray(Path path, ObjectReader reader, int partition, int partitions)
+            throws IOException {
+        JsonParser parser = openArray(path);
+        Spliterator<T> records = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long index;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (index++ % partitions == partition) {
+                            action.accept(reader.readValue(parser));
+                            return true;
+                        }
+                        parser.skipChildren();
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read " + path, e);
+                }
+            }
+        };
+        return StreamSupport.stream(records, false).onClose(() -> closeQuietly(parser));
+    }
+
+    // A parser positioned on the array's opening bracket; the file is closed if that fails
+    private static JsonParser openArray(Path path) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(path));
+        JsonParser parser = null;
+        try {
+            parser = mapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException(path + " must hold a JSON array");
+            }
+            return parser;
+        } catch (IOException | RuntimeException e) {
+            // Closing the parser closes the file too
+            closeQuietly(parser != null ? parser : input);
+            throw e;
+        }
+    }
+
+    private static String readHeader(Path path) throws IOException {
+        try (LineReader lines = new LineReader(path, 0, 1)) {
+            String header = lines.next();
+            if (header == null || header.isBlank()) {
+                throw new IllegalArgumentException(path + " has no header row");
+            }
+            return header;
+        }
+    }
+
+    // A CSV row as the JSON object the model binds from
+    private static ObjectNode toNode(String[] header, String[] cells) {
+        ObjectNode root = mapper.createObjectNode();
+        for (int i = 0; i < header.length && i < cells.length; i++) {
+            if (cells[i].isEmpty()) {
+                continue;
+            }
+            String name = header[i].trim();
+            ObjectNode target = root;
+            int dot;
+            while ((dot = name.indexOf('.')) > 0) {
+                JsonNode child = target.get(name.substring(0, dot));
+                target = child instanceof ObjectNode ? (ObjectNode) child : target.putObject(name.substring(0, dot));
+                name = name.substring(dot + 1);
+            }
+            if (name.endsWith("[]")) {
+                ArrayNode values = target.putArray(name.substring(0, name.length() - 2));
+                for (String value : cells[i].split("\\|")) {
+                    values.add(value);
+                }
+            } else {
+                target.put(name, cells[i]);
+            }
+        }
+        return root;
+    }
+
+    // Splits on commas outside double quotes; "" inside quotes is a literal quote
+    private static String[] parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells.toArray(new String[0]);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to read; a failed close cannot lose data
+        }
+    }
+}
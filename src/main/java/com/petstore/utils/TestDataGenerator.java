@@ -1,29 +1,78 @@
 package com.petstore.utils;
 
+import com.petstore.api.config.ApiConfig;
 import com.petstore.api.models.*;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
 
 public class TestDataGenerator {
-    private static final Random random = new Random();
     private static final String[] PET_NAMES = {"Max", "Bella", "Charlie", "Lucy", "Cooper", "Luna"};
     private static final String[] CATEGORIES = {"Dogs", "Cats", "Birds", "Fish", "Rabbits"};
+    private static final int TAG_COUNT = 100;
+
+    // Immutable, so every generated pet can share it; categories and tags are mutable and built per pet
+    private static final List<String> PHOTO_URLS =
+            List.of("http://example.com/photo1.jpg", "http://example.com/photo2.jpg");
+
+    // Ids are unique within the JVM; the random block keeps runs sharing a server apart and stays
+    // clear of the small ids used by negative tests and the stub's seed data. Distributed load
+    // workers draw their pools from the distinct blocks they are assigned instead (firstIdOfBlock).
+    private static final long ID_BLOCK = 1_000_000_000_000L;
+    public static final int ID_BLOCKS = 999;
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(firstIdOfBlock(ApiConfig.getLoadDataIdBlock() != null
+            ? ApiConfig.getLoadDataIdBlock()
+            : ThreadLocalRandom.current().nextLong(1, ID_BLOCKS + 1)));
 
     public static Pet createRandomPet() {
+        return createPet(nextId(), ThreadLocalRandom.current());
+    }
+
+    public static User createRandomUser() {
+        long id = nextId();
+        return createUser(id, "user" + id);
+    }
+
+    // Usernames share one unique prefix and end in the index, so even 100k users never collide
+    public static List<User> createRandomUsers(int count) {
+        long firstId = reserveIds(count);
+        String prefix = "user" + firstId + "_";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(createUser(firstId + i, prefix + i));
+        }
+        return users;
+    }
+
+    public static Order createRandomOrder() {
+        return createOrder(nextId(), ThreadLocalRandom.current());
+    }
+
+    // Seeded factories shared with TestDataPool: same id and random sequence, same entity
+
+    static Pet createPet(long id, RandomGenerator random) {
         return Pet.builder()
-                .id(generateRandomId())
-                .name(getRandomPetName())
-                .category(createRandomCategory())
-                .photoUrls(Arrays.asList("http://example.com/photo1.jpg", "http://example.com/photo2.jpg"))
-                .tags(Arrays.asList(createRandomTag()))
+                .id(id)
+                .name(PET_NAMES[random.nextInt(PET_NAMES.length)])
+                .category(category(random.nextInt(CATEGORIES.length)))
+                .photoUrls(PHOTO_URLS)
+                .tags(List.of(tag(random.nextInt(TAG_COUNT))))
                 .status(Pet.Status.AVAILABLE.getValue())
                 .build();
     }
 
-    public static User createRandomUser() {
-        String username = "user" + generateRandomId();
+    private static Category category(int index) {
+        return Category.builder().id(index + 1L).name(CATEGORIES[index]).build();
+    }
+
+    private static Tag tag(int index) {
+        return Tag.builder().id(index + 1L).name("tag" + index).build();
+    }
+
+    static User createUser(long id, String username) {
         return User.builder()
-                .id(generateRandomId())
+                .id(id)
                 .username(username)
                 .firstName("Test")
                 .lastName("User")
@@ -34,10 +83,10 @@ public class TestDataGenerator {
                 .build();
     }
 
-    public static Order createRandomOrder() {
+    static Order createOrder(long id, RandomGenerator random) {
         return Order.builder()
-                .id(generateRandomId())
-                .petId(generateRandomId())
+                .id(id)
+                .petId(random.nextLong(100000, 999999))
                 .quantity(random.nextInt(5) + 1)
                 .shipDate(new Date().toString())
                 .status("placed")
@@ -45,26 +94,35 @@ public class TestDataGenerator {
                 .build();
     }
 
-    private static Category createRandomCategory() {
-        return Category.builder()
-                .id(generateRandomId())
-                .name(CATEGORIES[random.nextInt(CATEGORIES.length)])
-                .build();
+    /**
+     * Reserves {@code count} consecutive ids that no other caller in this JVM will receive.
+     *
+     * @return the first reserved id
+     */
+    static long reserveIds(long count) {
+        return ID_SEQUENCE.getAndAdd(count);
     }
 
-    private static Tag createRandomTag() {
-        return Tag.builder()
-                .id(generateRandomId())
-                .name("tag" + random.nextInt(100))
-                .build();
+    /**
+     * The first of the 10^12 ids in {@code block}, for callers that are handed a block of their own.
+     */
+    public static long firstIdOfBlock(long block) {
+        return requireIdBlock(block) * ID_BLOCK;
     }
 
-    private static String getRandomPetName() {
-        return PET_NAMES[random.nextInt(PET_NAMES.length)];
+    /**
+     * @throws IllegalArgumentException unless {@code block} is 1-{@value #ID_BLOCKS}; block 0 would
+     *                                  overlap the small ids of negative tests and the stub's seed data
+     */
+    public static long requireIdBlock(long block) {
+        if (block < 1 || block > ID_BLOCKS) {
+            throw new IllegalArgumentException("Id block must be 1-" + ID_BLOCKS + ", got " + block);
+        }
+        return block;
     }
 
-    private static Long generateRandomId() {
-        return ThreadLocalRandom.current().nextLong(100000, 999999);
+    private static long nextId() {
+        return ID_SEQUENCE.getAndIncrement();
     }
 
     public static Pet createInvalidPet() {
@@ -76,4 +134,3 @@ public class TestDataGenerator {
                 .build();
     }
 }
-
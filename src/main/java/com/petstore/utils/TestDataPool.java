@@ -0,0 +1,146 @@
+package com.petstore.utils;
+
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Hands out pre-generated entities to any number of threads without locking. Entities are built
+ * in chunks, lazily or all up front via {@link #preload()}, and a chunk is released once every
+ * entity in it has been handed out.
+ *
+ * <p>The i-th entity depends only on the seed and i, so the same seed reproduces the same data no
+ * matter which threads generated which chunk. Entity i gets id {@code firstId + i}: ids never collide.
+ */
+public class TestDataPool<T> {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    // Marks a chunk that has been fully handed out, so a late generator cannot publish it again
+    private static final Object[] DROPPED = new Object[0];
+
+    @FunctionalInterface
+    public interface EntityFactory<T> {
+        T create(long id, SplittableRandom random);
+    }
+
+    private final EntityFactory<T> factory;
+    private final long capacity;
+    private final int chunkSize;
+    private final long seed;
+    private final long firstId;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicReferenceArray<Object[]> chunks;
+    private final AtomicIntegerArray handedOut;
+
+    public TestDataPool(EntityFactory<T> factory, long capacity, int chunkSize, long seed, long firstId) {
+        if (capacity <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Capacity and chunk size must be positive");
+        }
+        int chunkCount = Math.toIntExact((capacity + chunkSize - 1) / chunkSize);
+        this.factory = factory;
+        this.capacity = capacity;
+        this.chunkSize = chunkSize;
+        this.seed = seed;
+        this.firstId = firstId;
+        this.chunks = new AtomicReferenceArray<>(chunkCount);
+        this.handedOut = new AtomicIntegerArray(chunkCount);
+    }
+
+    // Ids come from a block reserved in TestDataGenerator, so pools never collide with each other
+    public static TestDataPool<Pet> pets(long capacity, long seed) {
+        return pets(capacity, seed, TestDataGenerator.reserveIds(capacity));
+    }
+
+    public static TestDataPool<Order> orders(long capacity, long seed) {
+        return orders(capacity, seed, TestDataGenerator.reserveIds(capacity));
+    }
+
+    public static TestDataPool<User> users(long capacity, long seed) {
+        return users(capacity, seed, TestDataGenerator.reserveIds(capacity));
+    }
+
+    // Ids firstId to firstId + capacity - 1; the caller keeps them apart from other pools
+    public static TestDataPool<Pet> pets(long capacity, long seed, long firstId) {
+        return new TestDataPool<>(TestDataGenerator::createPet, capacity, DEFAULT_CHUNK_SIZE, seed, firstId);
+    }
+
+    public static TestDataPool<Order> orders(long capacity, long seed, long firstId) {
+        return new TestDataPool<>(TestDataGenerator::createOrder, capacity, DEFAULT_CHUNK_SIZE, seed, firstId);
+    }
+
+    public static TestDataPool<User> users(long capacity, long seed, long firstId) {
+        return new TestDataPool<>((id, random) -> TestDataGenerator.createUser(id, "user" + id),
+                capacity, DEFAULT_CHUNK_SIZE, seed, firstId);
+    }
+
+    /**
+     * @throws IllegalStateException once all {@code capacity} entities have been handed out
+     */
+    @SuppressWarnings("unchecked")
+    public T next() {
+        long index = cursor.getAndIncrement();
+        if (index >= capacity) {
+            throw new IllegalStateException("Test data pool exhausted after " + capacity + " entities");
+        }
+        int chunkIndex = (int) (index / chunkSize);
+        T entity = (T) chunk(chunkIndex)[(int) (index % chunkSize)];
+        // The last reader of a chunk drops it; nobody can ask for that chunk again
+        if (handedOut.incrementAndGet(chunkIndex) == chunkLength(chunkIndex)) {
+            chunks.set(chunkIndex, DROPPED);
+        }
+        return entity;
+    }
+
+    /**
+     * Generates every chunk that has not been handed out yet, moving all allocation ahead of the run.
+     * Call it before handing out entities.
+     */
+    public TestDataPool<T> preload() {
+        return preload(capacity);
+    }
+
+    /**
+     * Generates the chunks holding the next {@code count} entities; later ones are still built on demand.
+     */
+    public TestDataPool<T> preload(long count) {
+        long first = cursor.get();
+        long last = Math.min(capacity, first + Math.max(0, count));
+        for (long chunkIndex = first / chunkSize; chunkIndex * chunkSize < last; chunkIndex++) {
+            chunk((int) chunkIndex);
+        }
+        return this;
+    }
+
+    public long remaining() {
+        return Math.max(0, capacity - cursor.get());
+    }
+
+    private Object[] chunk(int chunkIndex) {
+        Object[] chunk = chunks.get(chunkIndex);
+        if (chunk != null) {
+            return chunk;
+        }
+        // Racing generators build identical chunks; the first to publish wins. Only an empty slot
+        // is published to, so a chunk dropped meanwhile (only preload can still be generating it)
+        // stays dropped.
+        Object[] generated = generate(chunkIndex);
+        return chunks.compareAndSet(chunkIndex, null, generated) ? generated : chunks.get(chunkIndex);
+    }
+
+    private Object[] generate(int chunkIndex) {
+        SplittableRandom random = new SplittableRandom(seed ^ (chunkIndex * 0x9E3779B97F4A7C15L));
+        long first = (long) chunkIndex * chunkSize;
+        Object[] chunk = new Object[chunkLength(chunkIndex)];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = factory.create(firstId + first + i, random);
+        }
+        return chunk;
+    }
+
+    private int chunkLength(int chunkIndex) {
+        return (int) Math.min(chunkSize, capacity - (long) chunkIndex * chunkSize);
+    }
+}
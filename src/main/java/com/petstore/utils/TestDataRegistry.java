@@ -0,0 +1,238 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.endpoints.StoreEndpoint;
+import com.petstore.api.endpoints.UserEndpoint;
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Suite-scoped record of every pet, order and user the endpoints create, per target base URI.
+ * Entities deleted through the endpoints are forgotten; whatever is left is removed by
+ * {@link #cleanup()} in parallel, off the tests' critical path.
+ *
+ * <p>At most {@code test.cleanup.max.tracked} entities are recorded per target. Load runs create
+ * far more than they delete by id, and past the cap the rest is left on the server rather than
+ * held in memory for the whole run.
+ */
+public class TestDataRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataRegistry.class);
+    private static final long RETRY_BACKOFF_MS = 100;
+
+    private static final Map<String, Tracked> targets = new ConcurrentHashMap<>();
+
+    private static class Tracked {
+        final Set<Long> petIds = ConcurrentHashMap.newKeySet();
+        final Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        final Set<String> usernames = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean full = new AtomicBoolean();
+
+        boolean isEmpty() {
+            return petIds.isEmpty() && orderIds.isEmpty() && usernames.isEmpty();
+        }
+
+        int size() {
+            return petIds.size() + orderIds.size() + usernames.size();
+        }
+
+        <T> void add(String baseUri, Set<T> ids, T id) {
+            if (size() < ApiConfig.getCleanupMaxTracked()) {
+                ids.add(id);
+            } else if (full.compareAndSet(false, true)) {
+                logger.warn("Recorded " + ApiConfig.getCleanupMaxTracked() + " entities on " + baseUri
+                        + " (test.cleanup.max.tracked); entities past the cap will not be cleaned up");
+            }
+        }
+    }
+
+    public static String baseUriOf(RequestSpecification requestSpec) {
+        return normalize(((FilterableRequestSpecification) requestSpec).getBaseUri());
+    }
+
+    // ========== RECORDING ==========
+
+    public static Response recordPet(String baseUri, Pet pet, Response response) {
+        return recordPet(baseUri, pet.getId(), response);
+    }
+
+    // A null or zero id means the server assigned one, so it is read back from the response
+    public static Response recordPet(String baseUri, Long petId, Response response) {
+        if (isCreated(response)) {
+            Long id = petId != null && petId != 0 ? petId : idFrom(response);
+            if (id != null) {
+                Tracked tracked = tracked(baseUri);
+                tracked.add(baseUri, tracked.petIds, id);
+            }
+        }
+        return response;
+    }
+
+    public static Response recordOrder(String baseUri, Order order, Response response) {
+        return recordOrder(baseUri, order.getId(), response);
+    }
+
+    public static Response recordOrder(String baseUri, Long orderId, Response response) {
+        if (isCreated(response)) {
+            Long id = orderId != null && orderId != 0 ? orderId : idFrom(response);
+            if (id != null) {
+                Tracked tracked = tracked(baseUri);
+                tracked.add(baseUri, tracked.orderIds, id);
+            }
+        }
+        return response;
+    }
+
+    public static Response recordUser(String baseUri, User user, Response response) {
+        return recordUser(baseUri, user.getUsername(), response);
+    }
+
+    public static Response recordUser(String baseUri, String username, Response response) {
+        if (isCreated(response)) {
+            Tracked tracked = tracked(baseUri);
+            tracked.add(baseUri, tracked.usernames, username);
+        }
+        return response;
+    }
+
+    public static Response recordUsers(String baseUri, List<User> users, Response response) {
+        if (isCreated(response)) {
+            Tracked tracked = tracked(baseUri);
+            users.forEach(user -> tracked.add(baseUri, tracked.usernames, user.getUsername()));
+        }
+        return response;
+    }
+
+    // A 404 means someone else already removed it, which is just as good
+    public static Response forgetPet(String baseUri, Long petId, Response response) {
+        Tracked tracked = targets.get(normalize(baseUri));
+        if (tracked != null && isGone(response)) {
+            tracked.petIds.remove(petId);
+        }
+        return response;
+    }
+
+    public static Response forgetOrder(String baseUri, Long orderId, Response response) {
+        Tracked tracked = targets.get(normalize(baseUri));
+        if (tracked != null && isGone(response)) {
+            tracked.orderIds.remove(orderId);
+        }
+        return response;
+    }
+
+    public static Response forgetUser(String baseUri, String username, Response response) {
+        Tracked tracked = targets.get(normalize(baseUri));
+        if (tracked != null && isGone(response)) {
+            tracked.usernames.remove(username);
+        }
+        return response;
+    }
+
+    public static int getPendingCount() {
+        return targets.values().stream()
+                .mapToInt(Tracked::size)
+                .sum();
+    }
+
+    // ========== CLEANUP ==========
+
+    /**
+     * Deletes everything still recorded, on every target.
+     *
+     * @return the number of entities that could not be deleted and remain recorded
+     */
+    public static int cleanup() {
+        int failed = 0;
+        for (String baseUri : new ArrayList<>(targets.keySet())) {
+            failed += cleanup(baseUri);
+        }
+        return failed;
+    }
+
+    /**
+     * Deletes everything recorded against {@code baseUri}, up to {@code test.cleanup.parallelism}
+     * deletes in flight, each retried {@code test.retry.count} times with exponential backoff.
+     */
+    public static int cleanup(String baseUri) {
+        Tracked tracked = targets.get(normalize(baseUri));
+        if (tracked == null || tracked.isEmpty()) {
+            return 0;
+        }
+
+        RequestSpecification requestSpec = TestConfig.getRequestSpec(baseUri);
+        PetEndpoint petEndpoint = new PetEndpoint(requestSpec);
+        StoreEndpoint storeEndpoint = new StoreEndpoint(requestSpec);
+        UserEndpoint userEndpoint = new UserEndpoint(requestSpec);
+        int parallelism = ApiConfig.getCleanupParallelism();
+
+        List<Boolean> results = new ArrayList<>();
+        results.addAll(ConcurrentExecutor.invokeAll(new ArrayList<>(tracked.orderIds),
+                id -> deleteWithRetry(() -> storeEndpoint.deleteOrder(id)), parallelism));
+        results.addAll(ConcurrentExecutor.invokeAll(new ArrayList<>(tracked.petIds),
+                id -> deleteWithRetry(() -> petEndpoint.deletePet(id)), parallelism));
+        results.addAll(ConcurrentExecutor.invokeAll(new ArrayList<>(tracked.usernames),
+                username -> deleteWithRetry(() -> userEndpoint.deleteUser(username)), parallelism));
+
+        int failed = (int) results.stream().filter(deleted -> !deleted).count();
+        logger.info("Cleaned up " + (results.size() - failed) + " entities on " + baseUri
+                + (failed > 0 ? ", " + failed + " could not be deleted" : ""));
+        return failed;
+    }
+
+    private static boolean deleteWithRetry(Supplier<Response> delete) {
+        int retries = ApiConfig.getRetryCount();
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            try {
+                if (isGone(delete.get())) {
+                    return true;
+                }
+            } catch (Exception e) {
+                logger.debug("Delete attempt " + (attempt + 1) + " failed: " + e.getMessage());
+            }
+            if (attempt < retries) {
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS << attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Tracked tracked(String baseUri) {
+        return targets.computeIfAbsent(normalize(baseUri), uri -> new Tracked());
+    }
+
+    private static boolean isCreated(Response response) {
+        return ApiConfig.isCleanupEnabled() && response.getStatusCode() == 200;
+    }
+
+    private static boolean isGone(Response response) {
+        return response.getStatusCode() == 200 || response.getStatusCode() == 404;
+    }
+
+    private static Long idFrom(Response response) {
+        Object id = response.path("id");
+        return id instanceof Number ? ((Number) id).longValue() : null;
+    }
+
+    private static String normalize(String baseUri) {
+        return baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+    }
+}
@@ -0,0 +1,129 @@
+package com.petstore.utils;
+
+import com.petstore.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Client-side throttling per host and top-level route ({@code pet}, {@code store}, {@code user}):
+ * a {@link TokenBucketRateLimiter} caps the request rate and an {@link AdaptiveConcurrencyLimiter}
+ * finds the concurrency the backend sustains without queueing or shedding. Either may be absent
+ * for a route. A call first waits for a concurrency slot, then for a token, so tokens are only
+ * spent by calls about to be sent. Sits after the response cache, so cache hits cost no tokens.
+ */
+public class ThrottleFilter implements Filter {
+
+    /**
+     * The limiters for one route; a {@code null} limiter means that dimension is unlimited.
+     */
+    public static class Limits {
+        private final TokenBucketRateLimiter rateLimiter;
+        private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+        public Limits(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.concurrencyLimiter = concurrencyLimiter;
+        }
+
+        public TokenBucketRateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
+        public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+            return concurrencyLimiter;
+        }
+    }
+
+    private final Function<String, Limits> limitsFactory;
+    private final Map<String, Limits> limits = new ConcurrentHashMap<>();
+
+    public ThrottleFilter() {
+        this(ThrottleFilter::limitsFromConfig);
+    }
+
+    /**
+     * @param limitsFactory creates the limits for a route name, e.g. {@code pet}
+     */
+    public ThrottleFilter(Function<String, Limits> limitsFactory) {
+        this.limitsFactory = limitsFactory;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String route = routeOf(requestSpec.getUserDefinedPath());
+        Limits routeLimits = limits.computeIfAbsent(hostOf(requestSpec.getURI()) + " " + route,
+                key -> limitsFactory.apply(route));
+        AdaptiveConcurrencyLimiter concurrency = routeLimits.concurrencyLimiter;
+        if (concurrency == null) {
+            acquireToken(routeLimits);
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        // Slot first: a token taken while still queueing for a slot would be spent on nothing,
+        // and the burst would go out at once when slots free up
+        concurrency.acquire();
+        acquireToken(routeLimits);
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            int status = response.getStatusCode();
+            dropped = status == 429 || status == 503;
+            return response;
+        } finally {
+            concurrency.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private static void acquireToken(Limits routeLimits) {
+        if (routeLimits.rateLimiter != null) {
+            routeLimits.rateLimiter.acquire();
+        }
+    }
+
+    /**
+     * @param key host and route, e.g. {@code http://localhost:8080 pet}
+     */
+    public Limits getLimits(String key) {
+        return limits.get(key);
+    }
+
+    public Map<String, Limits> getAllLimits() {
+        return Map.copyOf(limits);
+    }
+
+    // api.limit.<route>.* with api.limit.default.* as the fallback; a rate of 0 means unlimited
+    private static Limits limitsFromConfig(String route) {
+        double rps = ApiConfig.getLimitRps(route);
+        TokenBucketRateLimiter rateLimiter = rps > 0
+                ? new TokenBucketRateLimiter(rps, ApiConfig.getLimitBurst(route))
+                : null;
+        AdaptiveConcurrencyLimiter concurrencyLimiter = ApiConfig.isLimitConcurrencyAdaptive(route)
+                ? new AdaptiveConcurrencyLimiter(ApiConfig.getLimitConcurrencyInitial(route),
+                        ApiConfig.getLimitConcurrencyMin(route), ApiConfig.getLimitConcurrencyMax(route),
+                        ApiConfig.getLimitLatencyTolerance(route), ApiConfig.getLimitBackoffRatio(route))
+                : null;
+        return new Limits(rateLimiter, concurrencyLimiter);
+    }
+
+    // "/pet/{petId}" -> "pet"
+    private static String routeOf(String path) {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        int slash = relative.indexOf('/');
+        return slash < 0 ? relative : relative.substring(0, slash);
+    }
+
+    private static String hostOf(String uri) {
+        URI parsed = URI.create(uri);
+        return parsed.getScheme() + "://" + parsed.getHost() + ":" + parsed.getPort();
+    }
+}
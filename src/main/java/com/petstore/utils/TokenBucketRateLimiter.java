@@ -0,0 +1,68 @@
+package com.petstore.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket holding up to {@code burst} tokens, refilled at {@code permitsPerSecond}.
+ * Implemented as its equivalent virtual-scheduling form (GCRA): a single theoretical arrival
+ * time advanced by CAS, so acquiring never takes a lock. A caller that finds the bucket empty
+ * reserves the next token and parks until it is due, which keeps waiting callers in FIFO order.
+ */
+public class TokenBucketRateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes one token, parking until it is available.
+     *
+     * @return nanoseconds spent waiting
+     */
+    public long acquire() {
+        long wait = reserve();
+        long deadline = System.nanoTime() + wait;
+        for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+        return wait;
+    }
+
+    /**
+     * Takes one token only if it is available right now.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (next - now - intervalNanos > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return Math.max(0, next - now - intervalNanos - burstNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.petstore.utils;
+
+/**
+ * Thrown by calls that return a parsed result rather than a {@code Response}, such as the
+ * streaming finders, when the server answers with a status they cannot parse.
+ */
+public class UnexpectedStatusException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String body;
+
+    public UnexpectedStatusException(String call, int statusCode, String body) {
+        super(call + " returned " + statusCode + ": " + body);
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
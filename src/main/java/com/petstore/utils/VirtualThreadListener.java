@@ -0,0 +1,99 @@
+package com.petstore.utils;
+
+import io.qameta.allure.Allure;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Fans a {@link VirtualThreads}-annotated test method out over virtual threads. Every other
+ * test method runs unchanged on its TestNG worker thread.
+ *
+ * <p>Every invocation sees the running test as current, both to TestNG's {@link Reporter} and
+ * to Allure, so what it logs or attaches is reported on that test rather than dropped.
+ */
+public class VirtualThreadListener implements IHookable {
+
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+        VirtualThreads virtualThreads = method.getAnnotation(VirtualThreads.class);
+        if (virtualThreads == null) {
+            callBack.runTestMethod(testResult);
+            return;
+        }
+
+        // One invocation goes through TestNG's callback so the result is tracked as usual; the
+        // callback only remembers its last outcome, so the others are invoked and checked here
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        String testCase = currentTestCase();
+        List<Integer> invocations = new ArrayList<>();
+        for (int i = 0; i < virtualThreads.invocations(); i++) {
+            invocations.add(i);
+        }
+        Function<Integer, Void> invocation = index -> {
+            if (index == 0) {
+                enter(testResult, testCase);
+                callBack.runTestMethod(testResult);
+            } else {
+                invoke(testResult, testCase, callBack.getParameters(), failure);
+            }
+            return null;
+        };
+
+        if (virtualThreads.maxConcurrency() > 0) {
+            ConcurrentExecutor.invokeAll(invocations, invocation, virtualThreads.maxConcurrency());
+        } else {
+            ConcurrentExecutor.invokeAll(invocations, invocation);
+        }
+
+        rethrow(failure.get());
+    }
+
+    static void rethrow(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * The Allure test case of the calling thread, to hand to invocations on other threads.
+     */
+    static String currentTestCase() {
+        return Allure.getLifecycle().getCurrentTestCase().orElse(null);
+    }
+
+    static void invoke(ITestResult testResult, String testCase, Object[] parameters,
+                       AtomicReference<Throwable> failure) {
+        enter(testResult, testCase);
+        try {
+            testResult.getMethod().getConstructorOrMethod().getMethod().invoke(testResult.getInstance(), parameters);
+        } catch (InvocationTargetException e) {
+            failure.compareAndSet(null, e.getCause());
+        } catch (IllegalAccessException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    // Both look the current test up in thread locals, which a worker only inherits if the TestNG
+    // thread happens to start it; the workers here are new virtual threads, so nothing is left behind
+    private static void enter(ITestResult testResult, String testCase) {
+        Reporter.setCurrentTestResult(testResult);
+        if (testCase != null) {
+            Allure.getLifecycle().setCurrentTestCase(testCase);
+        }
+    }
+}
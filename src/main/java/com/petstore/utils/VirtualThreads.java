@@ -0,0 +1,20 @@
+package com.petstore.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated test method {@link #invocations()} times at once, each invocation on its
+ * own virtual thread. The test fails if any invocation fails. Requires {@link VirtualThreadListener}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface VirtualThreads {
+
+    int invocations();
+
+    // Upper bound on invocations in flight; 0 falls back to api.concurrency.max
+    int maxConcurrency() default 0;
+}
@@ -1,22 +1,41 @@
 package com.petstore.tests;
 
+import com.petstore.api.config.ApiConfig;
 import com.petstore.api.config.TestConfig;
 import com.petstore.api.endpoints.*;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.ApiMetrics;
+import com.petstore.utils.TestDataRegistry;
+import io.qameta.allure.Allure;
 import org.testng.annotations.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.qameta.allure.Step;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
+    private static PetstoreStubServer stubServer;
+
     protected PetEndpoint petEndpoint;
     protected UserEndpoint userEndpoint;
     protected StoreEndpoint storeEndpoint;
+    protected AsyncPetEndpoint asyncPetEndpoint;
+    protected AsyncUserEndpoint asyncUserEndpoint;
+    protected AsyncStoreEndpoint asyncStoreEndpoint;
 
     @BeforeSuite
     public void setupSuite() {
         logger.info("Starting Test Suite");
+        if (ApiConfig.isStubEnabled()) {
+            stubServer = new PetstoreStubServer(ApiConfig.getStubPort()).start();
+            // Must be set before the shared spec and the async clients read the base URL
+            ApiConfig.useStub(stubServer.getBaseUrl());
+            logger.warn("api.stub.enabled=true: testing the embedded stub at " + stubServer.getBaseUrl()
+                    + ", NOT " + ApiConfig.getConfiguredBaseUrl() + "; run with -Dapi.stub.enabled=false for the real API");
+        }
         TestConfig.setupRestAssured();
     }
 
@@ -25,6 +44,9 @@ public class BaseTest {
         petEndpoint = new PetEndpoint();
         userEndpoint = new UserEndpoint();
         storeEndpoint = new StoreEndpoint();
+        asyncPetEndpoint = new AsyncPetEndpoint();
+        asyncUserEndpoint = new AsyncUserEndpoint();
+        asyncStoreEndpoint = new AsyncStoreEndpoint();
     }
 
     @BeforeMethod
@@ -37,17 +59,40 @@ public class BaseTest {
         logger.info("Test completed");
     }
 
-    @AfterSuite
+    @AfterSuite(alwaysRun = true)
     public void tearDownSuite() {
+        if (ApiConfig.isCleanupEnabled()) {
+            cleanupTestData();
+        }
+        if (ApiConfig.isMetricsEnabled()) {
+            publishMetrics();
+        }
+        if (ApiConfig.isCacheEnabled()) {
+            logger.info("Response cache: " + TestConfig.getResponseCache().summary());
+        }
+        if (stubServer != null) {
+            stubServer.stop();
+            ApiConfig.useStub(null);
+        }
         logger.info("Test Suite completed");
     }
 
-    @Step("Cleanup test data with ID: {0}")
-    protected void cleanupTestData(Long id) {
+    @Step("Cleanup test data created during the suite")
+    protected void cleanupTestData() {
+        int failed = TestDataRegistry.cleanup();
+        if (failed > 0) {
+            logger.warn(failed + " test entities could not be deleted");
+        }
+    }
+
+    private void publishMetrics() {
+        Path reportPath = Paths.get(ApiConfig.getMetricsReportPath());
         try {
-            petEndpoint.deletePet(id);
+            String json = ApiMetrics.writeReport(reportPath);
+            Allure.addAttachment("API latency histograms", "application/json", json, ".json");
+            logger.info("API metrics written to " + reportPath);
         } catch (Exception e) {
-            logger.warn("Failed to cleanup test data: " + e.getMessage());
+            logger.warn("Failed to publish API metrics: " + e.getMessage());
         }
     }
 }
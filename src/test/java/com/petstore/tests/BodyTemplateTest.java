@@ -0,0 +1,26 @@
+package com.petstore.tests;
+
+import com.petstore.utils.BodyTemplate;
+import com.petstore.utils.TestDataGenerator;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.nio.charset.StandardCharsets;
+
+@Epic("Pet Store API")
+@Feature("Test Data")
+public class BodyTemplateTest {
+
+    @Test(description = "Body templates refuse numbers JSON cannot represent")
+    @Story("Body Template")
+    @Severity(SeverityLevel.MINOR)
+    public void testRejectsNonFiniteNumbers() {
+        // Arrange - nothing is sent
+        BodyTemplate petBody = BodyTemplate.of(TestDataGenerator.createRandomPet(), "id", "name");
+
+        // Act & Assert
+        Assert.assertThrows(IllegalArgumentException.class, () -> petBody.render(Double.NaN, "Max"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> petBody.render(Float.POSITIVE_INFINITY, "Max"));
+        Assert.assertTrue(new String(petBody.render(1.5, "Max"), StandardCharsets.UTF_8).contains("\"id\":1.5"));
+    }
+}
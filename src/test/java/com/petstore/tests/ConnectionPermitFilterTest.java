@@ -0,0 +1,116 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.ApiMetrics;
+import com.petstore.utils.ConnectionPermitFilter;
+import com.petstore.utils.MetricsFilter;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Epic("Pet Store API")
+@Feature("Connection Pooling")
+public class ConnectionPermitFilterTest {
+    private PetstoreStubServer stub;
+
+    @BeforeClass
+    public void startStub() {
+        stub = new PetstoreStubServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "A streamed body keeps its permit until it is read, not just until the call returns")
+    @Story("Connection Permits")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStreamedBodyHoldsPermitUntilRead() throws Exception {
+        // Arrange - one permit, and no body is small enough to be buffered
+        RequestSpecification spec = specWith(new ConnectionPermitFilter(1, 1, 0));
+        Response first = RestAssured.given().spec(spec).get("/pet/{petId}", 1);
+
+        // Act
+        CompletableFuture<Response> second = CompletableFuture.supplyAsync(
+                () -> RestAssured.given().spec(spec).get("/store/inventory"), Thread.ofVirtual()::start);
+
+        // Assert - the second call waits for the first body, then goes through
+        Assert.assertFalse(completesWithin(second, 300), "Second call got a permit while the first body was unread");
+        Assert.assertTrue(first.asString().contains("Seed available"), first.asString());
+        Assert.assertEquals(second.get(10, TimeUnit.SECONDS).getStatusCode(), 200);
+    }
+
+    @Test(description = "Streaming pets through the filter chain times the first byte under its own key")
+    @Story("Connection Permits")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStreamedFindByStatusGoesThroughFilters() {
+        // Arrange - one permit, so the second call only goes through if closing the stream released it
+        RequestSpecification spec = new RequestSpecBuilder()
+                .setBaseUri(stub.getBaseUrl())
+                .setConfig(TestConfig.getRestAssuredConfig())
+                .addFilter(new MetricsFilter())
+                .addFilter(new ConnectionPermitFilter(1, 1, 0))
+                .build();
+        PetEndpoint pets = new PetEndpoint(spec);
+        String firstByte = ApiMetrics.firstByteKey(ApiMetrics.key("GET", "/pet/findByStatus"));
+        long before = recorded(firstByte);
+
+        // Act
+        try (Stream<Pet> available = pets.streamPetsByStatus("available")) {
+            Assert.assertTrue(available.findFirst().isPresent(), "No available pet streamed");
+        }
+
+        // Assert
+        Assert.assertEquals(recorded(firstByte) - before, 1);
+        Assert.assertEquals(pets.getPetById(1L).getStatusCode(), 200);
+    }
+
+    @Test(description = "A filter added after the permit filter is rejected")
+    @Story("Connection Permits")
+    @Severity(SeverityLevel.MINOR)
+    public void testPermitFilterMustBeLast() {
+        RequestSpecification spec = specWith(new ConnectionPermitFilter(1, 1, 0));
+
+        IllegalStateException e = Assert.expectThrows(IllegalStateException.class,
+                () -> RestAssured.given().spec(spec).filter((request, response, ctx) -> ctx.next(request, response))
+                        .get("/store/inventory"));
+        Assert.assertTrue(e.getMessage().contains("must be the last filter"), e.getMessage());
+    }
+
+    private RequestSpecification specWith(ConnectionPermitFilter permits) {
+        return new RequestSpecBuilder()
+                .setBaseUri(stub.getBaseUrl())
+                .setConfig(TestConfig.getRestAssuredConfig())
+                .addFilter(permits)
+                .build();
+    }
+
+    private static long recorded(String key) {
+        ApiMetrics.EndpointMetrics metrics = ApiMetrics.getEndpoints().get(key);
+        return metrics == null ? 0 : metrics.snapshot().getTotalCount();
+    }
+
+    private static boolean completesWithin(CompletableFuture<?> future, long millis) {
+        try {
+            future.get(millis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
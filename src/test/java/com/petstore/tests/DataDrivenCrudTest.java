@@ -0,0 +1,224 @@
+package com.petstore.tests;
+
+import com.petstore.api.models.Order;
+import com.petstore.api.models.Pet;
+import com.petstore.api.models.User;
+import com.petstore.utils.DataPartition;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.TestDataFiles;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+@Epic("Pet Store API")
+@Feature("Data-Driven Tests")
+public class DataDrivenCrudTest extends BaseTest {
+    private static final int PETS_IN_FILE = 40;
+    private static final int USERS_IN_FILE = 30;
+    private static final int ORDERS_IN_FILE = 30;
+
+    private final AtomicInteger petsRun = new AtomicInteger();
+    private final AtomicInteger usersRun = new AtomicInteger();
+    private final AtomicInteger ordersRun = new AtomicInteger();
+
+    // Large files: one invocation per partition, each streaming its share
+    @DataProvider(name = "petPartitions", parallel = true)
+    public Object[][] petPartitions(ITestContext context) {
+        return TestDataFiles.partitions("pets.jsonl", Pet.class, context);
+    }
+
+    @DataProvider(name = "userPartitions", parallel = true)
+    public Object[][] userPartitions(ITestContext context) {
+        return TestDataFiles.partitions("users.csv", User.class, context);
+    }
+
+    @DataProvider(name = "orderPartitions", parallel = true)
+    public Object[][] orderPartitions(ITestContext context) {
+        return TestDataFiles.partitions("orders.jsonl", Order.class, context);
+    }
+
+    // Small file: one invocation per record
+    @DataProvider(name = "filePets")
+    public Iterator<Object[]> filePets() {
+        return TestDataFiles.records("pet-data.json", Pet.class);
+    }
+
+    @Test(dataProvider = "petPartitions", description = "Create, read and delete every pet in pets.jsonl")
+    @Story("Pet Management")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPetCrudFromFile(DataPartition<Pet> partition) {
+        try (Stream<Pet> pets = partition.stream()) {
+            pets.forEach(pet -> {
+                Response created = petEndpoint.createPet(pet);
+                ResponseValidator.validateStatusCode(created, 200);
+                Assert.assertEquals(created.as(Pet.class).getName(), pet.getName(), "Pet " + pet.getId());
+
+                Pet retrieved = petEndpoint.getPetById(pet.getId()).as(Pet.class);
+                Assert.assertEquals(retrieved.getStatus(), pet.getStatus(), "Pet " + pet.getId());
+                Assert.assertEquals(retrieved.getCategory().getName(), pet.getCategory().getName());
+
+                ResponseValidator.validateStatusCode(petEndpoint.deletePet(pet.getId()), 200);
+                petsRun.incrementAndGet();
+            });
+        }
+    }
+
+    @Test(dataProvider = "userPartitions", description = "Create, log in and delete every user in users.csv")
+    @Story("User Management")
+    @Severity(SeverityLevel.NORMAL)
+    public void testUserCrudFromFile(DataPartition<User> partition) {
+        try (Stream<User> users = partition.stream()) {
+            users.forEach(user -> {
+                ResponseValidator.validateStatusCode(userEndpoint.createUser(user), 200);
+
+                User retrieved = userEndpoint.getUserByUsername(user.getUsername()).as(User.class);
+                Assert.assertEquals(retrieved.getLastName(), user.getLastName(), user.getUsername());
+                Assert.assertEquals(retrieved.getUserStatus(), user.getUserStatus(), user.getUsername());
+                ResponseValidator.validateStatusCode(userEndpoint.loginUser(user.getUsername(), user.getPassword()), 200);
+
+                ResponseValidator.validateStatusCode(userEndpoint.deleteUser(user.getUsername()), 200);
+                usersRun.incrementAndGet();
+            });
+        }
+    }
+
+    @Test(dataProvider = "orderPartitions", description = "Place, read and delete every order in orders.jsonl")
+    @Story("Store Management")
+    @Severity(SeverityLevel.NORMAL)
+    public void testOrderCrudFromFile(DataPartition<Order> partition) {
+        try (Stream<Order> orders = partition.stream()) {
+            orders.forEach(order -> {
+                ResponseValidator.validateStatusCode(storeEndpoint.placeOrder(order), 200);
+
+                Order retrieved = storeEndpoint.getOrderById(order.getId()).as(Order.class);
+                Assert.assertEquals(retrieved.getPetId(), order.getPetId(), "Order " + order.getId());
+                Assert.assertEquals(retrieved.getQuantity(), order.getQuantity(), "Order " + order.getId());
+
+                ResponseValidator.validateStatusCode(storeEndpoint.deleteOrder(order.getId()), 200);
+                ordersRun.incrementAndGet();
+            });
+        }
+    }
+
+    @Test(dependsOnMethods = {"testPetCrudFromFile", "testUserCrudFromFile", "testOrderCrudFromFile"},
+            description = "The partitions of each file together ran every record")
+    @Story("Partitioning")
+    @Severity(SeverityLevel.NORMAL)
+    public void testEveryRecordRan() {
+        Assert.assertEquals(petsRun.get(), PETS_IN_FILE);
+        Assert.assertEquals(usersRun.get(), USERS_IN_FILE);
+        Assert.assertEquals(ordersRun.get(), ORDERS_IN_FILE);
+    }
+
+    @Test(dataProvider = "filePets", description = "Create each pet listed in pet-data.json")
+    @Story("Pet Management")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreatePetFromDataFile(Pet pet) {
+        // Act
+        Response response = petEndpoint.createPet(pet);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        Pet created = response.as(Pet.class);
+        Assert.assertEquals(created.getId(), pet.getId());
+        Assert.assertEquals(created.getName(), pet.getName());
+        Assert.assertEquals(created.getTags().get(0).getName(), "from-file");
+        ResponseValidator.validateStatusCode(petEndpoint.deletePet(pet.getId()), 200);
+    }
+
+    @Test(description = "Byte-range partitions of large files hold every record exactly once")
+    @Story("Partitioning")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPartitionsCoverLargeFilesExactlyOnce() throws IOException {
+        // Arrange - ids 0..n-1, with lines of varying length so boundaries fall mid-line
+        int records = 100_000;
+        Path jsonLines = Paths.get("target/test-data/large-pets.jsonl").toAbsolutePath();
+        Path csv = Paths.get("target/test-data/large-users.csv").toAbsolutePath();
+        Files.createDirectories(jsonLines.getParent());
+        try (BufferedWriter pets = Files.newBufferedWriter(jsonLines, StandardCharsets.UTF_8);
+             BufferedWriter users = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            users.write("id,username,lastName\n");
+            for (int i = 0; i < records; i++) {
+                pets.write("{\"id\":" + i + ",\"name\":\"pet" + "x".repeat(i % 17) + "\",\"status\":\"available\"}\n");
+                users.write(i + ",user" + i + ",\"Doe, " + "y".repeat(i % 13) + "\"\r\n");
+            }
+        }
+
+        // Act & Assert
+        assertPartitionsCover(jsonLines, Pet.class, Pet::getId, records, 7);
+        assertPartitionsCover(csv, User.class, User::getId, records, 5);
+    }
+
+    @Test(description = "Files whose records cannot be read are closed rather than left open")
+    @Story("Data Files")
+    @Severity(SeverityLevel.MINOR)
+    public void testBadFilesAreClosed() throws IOException {
+        // Arrange - a JSON file that fails on its first token, and a record that fails to bind
+        Path malformed = Paths.get("target/test-data/malformed.json").toAbsolutePath();
+        Path badRecord = Paths.get("target/test-data/bad-record.jsonl").toAbsolutePath();
+        Files.createDirectories(malformed.getParent());
+        Files.writeString(malformed, "]");
+        Files.writeString(badRecord, "{\"id\":1}\n{\"id\":\"not a number\"}\n");
+
+        // Act
+        Assert.assertThrows(UncheckedIOException.class, () -> TestDataFiles.stream(malformed.toString(), Pet.class));
+        Iterator<Object[]> records = TestDataFiles.records(badRecord.toString(), Pet.class);
+        Assert.assertTrue(records.hasNext());
+        records.next();
+        Assert.assertThrows(IllegalArgumentException.class, records::hasNext);
+
+        // Assert - Linux lists a process's open files under /proc/self/fd
+        Path descriptors = Paths.get("/proc/self/fd");
+        if (Files.isDirectory(descriptors)) {
+            Assert.assertEquals(openCount(descriptors, malformed), 0, malformed + " left open");
+            Assert.assertEquals(openCount(descriptors, badRecord), 0, badRecord + " left open");
+        }
+    }
+
+    private static long openCount(Path descriptors, Path file) throws IOException {
+        try (Stream<Path> fds = Files.list(descriptors)) {
+            return fds.filter(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).equals(file);
+                } catch (IOException e) {
+                    // Closed while listing
+                    return false;
+                }
+            }).count();
+        }
+    }
+
+    private static <T> void assertPartitionsCover(Path file, Class<T> type, ToLongFunction<T> idOf, int records,
+                                                  int partitions) {
+        BitSet seen = new BitSet(records);
+        int total = 0;
+        for (int i = 0; i < partitions; i++) {
+            try (Stream<T> partition = TestDataFiles.stream(file.toString(), type, i, partitions)) {
+                Iterator<T> iterator = partition.iterator();
+                while (iterator.hasNext()) {
+                    int id = (int) idOf.applyAsLong(iterator.next());
+                    Assert.assertFalse(seen.get(id), "Record " + id + " of " + file + " read twice");
+                    seen.set(id);
+                    total++;
+                }
+            }
+        }
+        Assert.assertEquals(total, records, file.toString());
+        Assert.assertEquals(seen.cardinality(), records);
+    }
+}
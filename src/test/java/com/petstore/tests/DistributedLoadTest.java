@@ -0,0 +1,109 @@
+package com.petstore.tests;
+
+import com.petstore.load.CrudOperation;
+import com.petstore.load.LoadCoordinator;
+import com.petstore.load.LoadProfile;
+import com.petstore.load.LoadReport;
+import com.petstore.load.OperationMix;
+import com.petstore.stub.PetstoreStubServer;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Epic("Pet Store API")
+@Feature("Load Generation")
+public class DistributedLoadTest {
+    private static final int WORKERS = 2;
+
+    private PetstoreStubServer stub;
+
+    @BeforeClass
+    public void startStub() {
+        stub = new PetstoreStubServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "Worker processes on loopback share the load, start together and report one merged histogram")
+    @Story("Distributed Load")
+    @Severity(SeverityLevel.NORMAL)
+    public void testWorkersShareAndMergeLoad() throws IOException, InterruptedException {
+        // Arrange
+        LoadProfile profile = LoadProfile.builder()
+                .baseUrl(stub.getBaseUrl())
+                .targetRps(60)
+                .rampUp(Duration.ofSeconds(1))
+                .duration(Duration.ofSeconds(2))
+                .maxInFlight(64)
+                .mix(new OperationMix()
+                        .add(CrudOperation.CREATE_PET, 1)
+                        .add(CrudOperation.GET_PET, 2)
+                        .add(CrudOperation.GET_INVENTORY, 1))
+                .dataSeed(42L)
+                .build();
+        List<Process> workers = new ArrayList<>();
+
+        try (LoadCoordinator coordinator = new LoadCoordinator(0, WORKERS)) {
+            for (int i = 0; i < WORKERS; i++) {
+                workers.add(startWorker(coordinator.getPort(), i));
+            }
+
+            // Act
+            // The start delay covers the workers' warm-up even when three cold JVMs share one core
+            LoadReport report = coordinator.run(profile, TimeUnit.SECONDS.toMillis(60), TimeUnit.SECONDS.toMillis(15));
+
+            // Assert - each worker schedules 15 arrivals during the ramp plus 60 at 30 rps
+            Assert.assertEquals(coordinator.getWorkers().size(), WORKERS);
+            for (LoadCoordinator.Worker worker : coordinator.getWorkers()) {
+                Assert.assertEquals(worker.getReport().getScheduled(), 75, worker.getWorkerId());
+                Assert.assertTrue(Math.abs(worker.getClockOffsetMicros()) < 50_000,
+                        "Loopback clock offset " + worker.getClockOffsetMicros() + " us");
+            }
+            Assert.assertEquals(report.getScheduled(), 150);
+            Assert.assertEquals(report.getCompleted(), report.getScheduled());
+            Assert.assertEquals(report.getErrors(), 0);
+            Assert.assertEquals(report.getLatency().getTotalCount(), report.getCompleted());
+            Assert.assertEquals(report.getCorrectedLatency().getTotalCount(), report.getCompleted());
+            Assert.assertEquals(report.getOperationCounts().values().stream().mapToLong(Long::longValue).sum(),
+                    report.getCompleted());
+            // Generous: three JVMs may share a single CI core, so a worker can wake a little late
+            Assert.assertTrue(coordinator.getStartSkewMicros() < 500_000,
+                    "Workers started " + coordinator.getStartSkewMicros() + " us apart");
+        } finally {
+            for (Process worker : workers) {
+                if (!worker.waitFor(10, TimeUnit.SECONDS)) {
+                    worker.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    // Same classpath as this JVM, without per-request logging; output goes to target/distributed-test
+    private static Process startWorker(int port, int index) throws IOException {
+        Path log = Paths.get("target", "distributed-test", "worker-" + index + ".log");
+        Files.createDirectories(log.getParent());
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "-Dapi.log.enabled=false",
+                "com.petstore.load.LoadWorker", "localhost:" + port)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .directory(new File(System.getProperty("user.dir")))
+                .start();
+    }
+}
@@ -0,0 +1,119 @@
+package com.petstore.tests;
+
+import com.petstore.utils.LatencyBudget;
+import com.petstore.utils.LatencyBudgetListener;
+import com.petstore.utils.LatencySampler;
+import com.petstore.utils.ResponseValidator;
+import io.qameta.allure.*;
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import java.util.List;
+
+@Epic("Pet Store API")
+@Feature("Latency Budgets")
+public class LatencyBudgetTest extends BaseTest {
+
+    @Test(description = "Getting a pet by id stays within its latency budget")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    @LatencyBudget(p95 = 300, p99 = 800, samples = 200)
+    public void testGetPetByIdWithinBudget() {
+        ResponseValidator.validateStatusCode(petEndpoint.getPetById(1L), 200);
+    }
+
+    @Test(description = "The inventory stays within its latency budget under concurrent calls")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    @LatencyBudget(p50 = 200, p99 = 1000, samples = 200, warmup = 40, concurrency = 8)
+    public void testGetInventoryWithinBudgetConcurrently() {
+        ResponseValidator.validateStatusCode(storeEndpoint.getInventory(), 200);
+    }
+
+    @Test(description = "The inventory stays within its latency budget on a fixed-rate schedule")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    @LatencyBudget(p50 = 200, p99 = 1000, samples = 100, warmup = 20, concurrency = 4, rate = 100)
+    public void testGetInventoryWithinBudgetAtFixedRate() {
+        ResponseValidator.validateStatusCode(storeEndpoint.getInventory(), 200);
+    }
+
+    @Test(description = "On a schedule, a stall is charged to every invocation queued behind it")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    public void testScheduledSamplingCorrectsForCoordinatedOmission() {
+        // Act - 100 calls at 100/s, one at a time; the tenth stalls for 300 ms, like a GC pause
+        LatencySampler.Samples samples = LatencySampler.sample(100, 1, 100, index -> {
+            if (index == 10) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // Assert - timed from their own start only one call is slow; from the schedule, the
+        // thirty or so calls due during the stall are too
+        Histogram corrected = samples.getCorrected();
+        Histogram uncorrected = samples.getUncorrected();
+        Assert.assertEquals(corrected.getTotalCount(), 100);
+        Assert.assertEquals(uncorrected.getTotalCount(), 100);
+        Assert.assertTrue(uncorrected.getValueAtPercentile(90) < 50_000,
+                "Uncorrected p90 " + uncorrected.getValueAtPercentile(90) + " us");
+        Assert.assertTrue(corrected.getValueAtPercentile(90) >= 100_000,
+                "Corrected p90 " + corrected.getValueAtPercentile(90) + " us");
+        Assert.assertTrue(corrected.getMaxValue() >= 300_000);
+    }
+
+    @Test(description = "A violated budget or an invalid warm-up count fails the TestNG result")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    public void testListenerFailsTheTestResult() {
+        // Arrange - a nested run of OverBudgetFixture with only the listener under test
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setVerbose(0);
+        testng.setTestClasses(new Class<?>[] {OverBudgetFixture.class});
+        testng.addListener(new LatencyBudgetListener());
+        TestListenerAdapter results = new TestListenerAdapter();
+        testng.addListener(results);
+
+        // Act
+        testng.run();
+
+        // Assert
+        Assert.assertTrue(results.getPassedTests().isEmpty(), "Passed: " + results.getPassedTests());
+        Assert.assertEquals(results.getFailedTests().size(), 2);
+        for (ITestResult result : results.getFailedTests()) {
+            String message = result.getThrowable().getMessage();
+            if (result.getMethod().getMethodName().equals("sleepsPastBudget")) {
+                Assert.assertTrue(message.startsWith("Latency budget exceeded: max "), message);
+            } else {
+                Assert.assertTrue(result.getThrowable() instanceof IllegalArgumentException, message);
+            }
+        }
+    }
+
+    @Test(description = "Only percentiles over their budget are reported as violations")
+    @Story("Latency Budgets")
+    @Severity(SeverityLevel.NORMAL)
+    public void testViolationsAreReportedPerPercentile() throws NoSuchMethodException {
+        // Arrange - 95 fast samples and 5 slow ones, in microseconds
+        LatencyBudget budget = getClass().getDeclaredMethod("testGetPetByIdWithinBudget")
+                .getAnnotation(LatencyBudget.class);
+        Histogram latency = new Histogram(3);
+        latency.recordValueWithCount(10_000, 95);
+        latency.recordValueWithCount(900_000, 5);
+
+        // Act
+        List<String> violations = LatencyBudgetListener.violations(budget, latency);
+
+        // Assert
+        Assert.assertEquals(violations.size(), 1, "Violations: " + violations);
+        Assert.assertTrue(violations.get(0).startsWith("p99 "), violations.get(0));
+    }
+}
@@ -0,0 +1,131 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.load.CrudOperation;
+import com.petstore.load.LoadGenerator;
+import com.petstore.load.LoadProfile;
+import com.petstore.load.LoadReport;
+import com.petstore.load.OperationMix;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.ApiMetrics;
+import com.petstore.utils.TestDataRegistry;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.time.Duration;
+import java.util.Map;
+
+@Epic("Pet Store API")
+@Feature("Load Generation")
+public class LoadGeneratorTest {
+    private PetstoreStubServer stub;
+
+    @BeforeClass
+    public void startStub() {
+        // A dedicated instance, so load data never leaks into the functional tests' stub
+        stub = new PetstoreStubServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "Load generator sustains the target arrival rate against the embedded stub")
+    @Story("Open-model Load")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLoadGeneratorHitsTargetRate() {
+        // Arrange
+        LoadProfile profile = LoadProfile.builder()
+                .baseUrl(stub.getBaseUrl())
+                .targetRps(100)
+                .rampUp(Duration.ofSeconds(1))
+                .duration(Duration.ofSeconds(2))
+                .maxInFlight(64)
+                .mix(new OperationMix()
+                        .add(CrudOperation.CREATE_PET, 1)
+                        .add(CrudOperation.GET_PET, 3)
+                        .add(CrudOperation.GET_INVENTORY, 1))
+                .build();
+
+        // Act
+        LoadReport report = new LoadGenerator(profile).run();
+
+        // Assert - 50 arrivals during the ramp plus 200 at full rate
+        Assert.assertEquals(report.getScheduled(), 250);
+        Assert.assertEquals(report.getCompleted(), report.getScheduled());
+        Assert.assertEquals(report.getErrors(), 0);
+        Assert.assertTrue(report.getCompleted() > 0, "No request completed");
+        Assert.assertEquals(report.getLatency().getTotalCount(), report.getCompleted());
+        Assert.assertTrue(report.getPercentileMillis(99) > 0, "Latency was not recorded");
+        Assert.assertTrue(report.getThroughput() > 50, "Throughput too low: " + report.getThroughput());
+        // Each request is timed from its intended arrival too, which is never after its actual send
+        Assert.assertEquals(report.getCorrectedLatency().getTotalCount(), report.getCompleted());
+        for (double percentile : new double[] {50, 90, 99}) {
+            Assert.assertTrue(report.getCorrectedPercentileMillis(percentile) >= report.getPercentileMillis(percentile),
+                    "Corrected p" + percentile + " below uncorrected: " + report.summary());
+        }
+
+        // Every call also lands in the per-endpoint histograms, keyed by path template
+        Map<String, ApiMetrics.EndpointMetrics> endpoints = ApiMetrics.getEndpoints();
+        Assert.assertTrue(endpoints.containsKey("GET /pet/{petId}"), "Missing metrics for " + endpoints.keySet());
+        Assert.assertTrue(endpoints.containsKey("GET /store/inventory"), "Missing metrics for " + endpoints.keySet());
+        Assert.assertTrue(endpoints.get("GET /pet/{petId}").snapshot().getTotalCount() > 0);
+
+        // Every pet the run created was recorded, so cleanup leaves only the stub's seed data
+        Assert.assertEquals(TestDataRegistry.cleanup(stub.getBaseUrl()), 0);
+        Pet[] remaining = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl()))
+                .getPetsByStatus("available").as(Pet[].class);
+        Assert.assertEquals(remaining.length, 1);
+    }
+
+    @Test(description = "Arrivals past the in-flight limit queue and count their wait in the corrected latency")
+    @Story("Open-model Load")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSaturatedArrivalsQueue() {
+        // Arrange - one request at a time, each held 50 ms, against an arrival every 25 ms
+        LoadProfile profile = LoadProfile.builder()
+                .baseUrl(stub.getBaseUrl())
+                .targetRps(40)
+                .rampUp(Duration.ZERO)
+                .duration(Duration.ofSeconds(1))
+                .maxInFlight(1)
+                .mix(new OperationMix().add(CrudOperation.GET_INVENTORY, 1))
+                .build();
+        stub.setResponseDelay(50);
+
+        try {
+            // Act
+            LoadReport report = new LoadGenerator(profile).run();
+
+            // Assert - every arrival is sent; the last waits behind ~39 others for about a second
+            Assert.assertEquals(report.getScheduled(), 40);
+            Assert.assertEquals(report.getCompleted(), report.getScheduled());
+            Assert.assertTrue(report.getQueued() > 0, report.summary());
+            Assert.assertEquals(report.getCorrectedLatency().getTotalCount(), report.getCompleted());
+            Assert.assertTrue(report.getCorrectedMaxMillis() > 500, report.summary());
+            Assert.assertTrue(report.getPercentileMillis(99) < report.getCorrectedPercentileMillis(99),
+                    report.summary());
+        } finally {
+            stub.setResponseDelay(0);
+        }
+    }
+
+    @Test(description = "Operation mix is parsed from its config representation")
+    @Story("Open-model Load")
+    @Severity(SeverityLevel.MINOR)
+    public void testOperationMixParsing() {
+        OperationMix mix = OperationMix.parse("createPet:2, getInventory:3");
+
+        Assert.assertEquals(mix.getEntries().size(), 2);
+        Assert.assertEquals(mix.getEntries().get(0).getOperation(), CrudOperation.CREATE_PET);
+        Assert.assertEquals(mix.getEntries().get(1).getWeight(), 3);
+        Assert.assertEquals(mix.toString(), "createPet:2,getInventory:3");
+    }
+}
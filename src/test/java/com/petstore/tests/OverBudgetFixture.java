@@ -0,0 +1,22 @@
+package com.petstore.tests;
+
+import com.petstore.utils.LatencyBudget;
+import org.testng.annotations.Test;
+
+/**
+ * Run only by {@link LatencyBudgetTest#testListenerFailsTheTestResult()} in a nested TestNG run.
+ * Top-level and out of testng.xml, since TestNG also runs the nested classes of a listed class.
+ */
+public class OverBudgetFixture {
+
+    @Test
+    @LatencyBudget(max = 1, samples = 2, warmup = 1)
+    public void sleepsPastBudget() throws InterruptedException {
+        Thread.sleep(5);
+    }
+
+    @Test
+    @LatencyBudget(max = 1000, samples = 2, warmup = 0)
+    public void hasNoWarmup() {
+    }
+}
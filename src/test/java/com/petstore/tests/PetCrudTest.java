@@ -1,20 +1,43 @@
 package com.petstore.tests;
 
+import com.petstore.api.config.ApiConfig;
 import com.petstore.api.models.Pet;
+import com.petstore.utils.BodyTemplate;
+import com.petstore.utils.ResourceLock;
 import com.petstore.utils.TestDataGenerator;
 import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.UnexpectedStatusException;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
 import io.restassured.response.Response;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.testng.Assert;
 import io.qameta.allure.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Epic("Pet Store API")
 @Feature("Pet Management")
 public class PetCrudTest extends BaseTest {
+    private static final String SHARED_PET = "PetCrudTest.sharedPet";
+
+    // Created once for the tests that only read a pet; tests that change one create their own
+    private Pet sharedPet;
+
+    @BeforeClass
+    public void createSharedPet() {
+        sharedPet = TestDataGenerator.createRandomPet();
+        sharedPet.setStatus(Pet.Status.AVAILABLE.getValue());
+        ResponseValidator.validateStatusCode(petEndpoint.createPet(sharedPet), 200);
+    }
 
     // ========== POSITIVE SCENARIOS ==========
 
-    @Test(priority = 1, description = "Create a new pet with valid data")
+    @Test(description = "Create a new pet with valid data")
     @Story("Create Pet")
     @Severity(SeverityLevel.CRITICAL)
     public void testCreatePetPositive() {
@@ -31,35 +54,25 @@ public class PetCrudTest extends BaseTest {
         Assert.assertNotNull(createdPet.getId());
         Assert.assertEquals(createdPet.getName(), newPet.getName());
         Assert.assertEquals(createdPet.getStatus(), newPet.getStatus());
-
-        // Cleanup
-        cleanupTestData(createdPet.getId());
     }
 
-    @Test(priority = 2, description = "Get pet by valid ID")
+    @Test(description = "Get pet by valid ID")
     @Story("Get Pet")
     @Severity(SeverityLevel.CRITICAL)
+    @ResourceLock(value = SHARED_PET, mode = ResourceLock.Mode.READ)
     public void testGetPetByIdPositive() {
-        // Arrange
-        Pet newPet = TestDataGenerator.createRandomPet();
-        Response createResponse = petEndpoint.createPet(newPet);
-        Pet createdPet = createResponse.as(Pet.class);
-
         // Act
-        Response response = petEndpoint.getPetById(createdPet.getId());
+        Response response = petEndpoint.getPetById(sharedPet.getId());
 
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
         Pet retrievedPet = response.as(Pet.class);
 
-        Assert.assertEquals(retrievedPet.getId(), createdPet.getId());
-        Assert.assertEquals(retrievedPet.getName(), createdPet.getName());
-
-        // Cleanup
-        cleanupTestData(createdPet.getId());
+        Assert.assertEquals(retrievedPet.getId(), sharedPet.getId());
+        Assert.assertEquals(retrievedPet.getName(), sharedPet.getName());
     }
 
-    @Test(priority = 3, description = "Update existing pet with valid data")
+    @Test(description = "Update existing pet with valid data")
     @Story("Update Pet")
     @Severity(SeverityLevel.CRITICAL)
     public void testUpdatePetPositive() {
@@ -80,12 +93,9 @@ public class PetCrudTest extends BaseTest {
 
         Assert.assertEquals(updatedPet.getName(), "Updated Name");
         Assert.assertEquals(updatedPet.getStatus(), Pet.Status.SOLD.getValue());
-
-        // Cleanup
-        cleanupTestData(createdPet.getId());
     }
 
-    @Test(priority = 4, description = "Delete existing pet")
+    @Test(description = "Delete existing pet")
     @Story("Delete Pet")
     @Severity(SeverityLevel.CRITICAL)
     public void testDeletePetPositive() {
@@ -105,7 +115,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(getResponse, 404);
     }
 
-    @Test(priority = 5, description = "Find pets by status")
+    @Test(description = "Find pets by status")
     @Story("Find Pets")
     @Severity(SeverityLevel.NORMAL)
     public void testFindPetsByStatusPositive() {
@@ -122,9 +132,139 @@ public class PetCrudTest extends BaseTest {
         }
     }
 
+    @Test(description = "Stream pets by status and stop at the first match")
+    @Story("Find Pets")
+    @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(value = SHARED_PET, mode = ResourceLock.Mode.READ)
+    public void testStreamPetsByStatusPositive() {
+        // Act
+        Optional<Pet> match;
+        try (Stream<Pet> pets = petEndpoint.streamPetsByStatus("available")) {
+            match = pets.peek(pet -> Assert.assertEquals(pet.getStatus(), "available"))
+                    .filter(pet -> sharedPet.getId().equals(pet.getId()))
+                    .findFirst();
+        }
+
+        // Assert
+        Assert.assertTrue(match.isPresent(), "Shared pet not found in the stream");
+        Assert.assertEquals(match.get().getName(), sharedPet.getName());
+    }
+
+    @Test(description = "With the default filters a body past the buffer limit is not read before the caller")
+    @Story("Find Pets")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLargeBodyStaysStreamingByDefault() throws IOException {
+        // Arrange - a pet whose name alone is past api.pool.buffer.max.bytes
+        Pet large = TestDataGenerator.createRandomPet();
+        large.setName("x".repeat((int) ApiConfig.getPoolBufferMaxBytes() + 1));
+        large.setStatus(Pet.Status.SOLD.getValue());
+        ResponseValidator.validateStatusCode(petEndpoint.createPet(large), 200);
+
+        // Act
+        Response response = petEndpoint.getPetsByStatus(Pet.Status.SOLD.getValue());
+
+        // Assert - logging at api.log.level=ALL left it on the connection; small bodies are buffered
+        try (InputStream body = response.getBody().asInputStream()) {
+            Assert.assertTrue(isStreaming(response), "The large body was read by a filter");
+        }
+        Assert.assertFalse(isStreaming(storeEndpoint.getInventory()), "A small body was left streaming");
+    }
+
+    @Test(description = "Rename a pet with form data")
+    @Story("Update Pet")
+    @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(SHARED_PET)
+    public void testUpdatePetWithFormDataPositive() {
+        // Arrange
+        String originalName = sharedPet.getName();
+
+        try {
+            // Act
+            Response response = petEndpoint.updatePetWithFormData(sharedPet.getId(), "Renamed", sharedPet.getStatus());
+
+            // Assert
+            ResponseValidator.validateStatusCode(response, 200);
+            Assert.assertEquals(petEndpoint.getPetById(sharedPet.getId()).as(Pet.class).getName(), "Renamed");
+        } finally {
+            // Readers expect the fixture as created
+            petEndpoint.updatePetWithFormData(sharedPet.getId(), originalName, sharedPet.getStatus());
+        }
+    }
+
+    @Test(description = "Create many pets concurrently on virtual threads")
+    @Story("Create Pet")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreatePetsConcurrentlyPositive() {
+        // Arrange
+        List<Pet> newPets = Stream.generate(TestDataGenerator::createRandomPet)
+                .limit(50)
+                .collect(Collectors.toList());
+
+        // Act
+        List<Response> responses = petEndpoint.createPetsConcurrently(newPets);
+
+        // Assert
+        Assert.assertEquals(responses.size(), newPets.size());
+        responses.forEach(response -> ResponseValidator.validateStatusCode(response, 200));
+    }
+
+    @Test(description = "Create pets from a body template serialized once")
+    @Story("Create Pet")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreatePetFromBodyTemplatePositive() {
+        // Arrange
+        Pet template = TestDataGenerator.createRandomPet();
+        BodyTemplate petBody = BodyTemplate.of(template, "id", "name");
+        Pet first = TestDataGenerator.createRandomPet();
+        Pet second = TestDataGenerator.createRandomPet();
+
+        // Act
+        Response firstResponse = petEndpoint.createPet(first.getId(), petBody.render(first.getId(), first.getName()));
+        Response secondResponse = petEndpoint.createPet(second.getId(), petBody.render(second.getId(), "Rex \"the\" Dog"));
+
+        // Assert
+        ResponseValidator.validateStatusCode(firstResponse, 200);
+        ResponseValidator.validateStatusCode(secondResponse, 200);
+        Pet created = petEndpoint.getPetById(second.getId()).as(Pet.class);
+        Assert.assertEquals(created.getName(), "Rex \"the\" Dog");
+        Assert.assertEquals(created.getStatus(), template.getStatus());
+        Assert.assertEquals(created.getCategory(), template.getCategory());
+        Assert.assertEquals(firstResponse.as(Pet.class).getName(), first.getName());
+    }
+
+    @Test(description = "Chain create, get, update and delete without blocking between calls")
+    @Story("Pet CRUD Flow")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPetCrudFlowAsync() {
+        // Arrange
+        Pet newPet = TestDataGenerator.createRandomPet();
+
+        // Act
+        Response deleteResponse = asyncPetEndpoint.createPet(newPet)
+                .thenCompose(createResponse -> {
+                    ResponseValidator.validateStatusCode(createResponse, 200);
+                    return asyncPetEndpoint.getPetById(createResponse.as(Pet.class).getId());
+                })
+                .thenCompose(getResponse -> {
+                    ResponseValidator.validateStatusCode(getResponse, 200);
+                    Pet retrievedPet = getResponse.as(Pet.class);
+                    retrievedPet.setStatus(Pet.Status.SOLD.getValue());
+                    return asyncPetEndpoint.updatePet(retrievedPet);
+                })
+                .thenCompose(updateResponse -> {
+                    ResponseValidator.validateStatusCode(updateResponse, 200);
+                    Assert.assertEquals(updateResponse.as(Pet.class).getStatus(), Pet.Status.SOLD.getValue());
+                    return asyncPetEndpoint.deletePet(newPet.getId());
+                })
+                .join();
+
+        // Assert
+        ResponseValidator.validateStatusCode(deleteResponse, 200);
+    }
+
     // ========== NEGATIVE SCENARIOS ==========
 
-    @Test(priority = 6, description = "Create pet with invalid data")
+    @Test(description = "Create pet with invalid data")
     @Story("Create Pet - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testCreatePetNegative() {
@@ -138,7 +278,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 7, description = "Get pet with non-existent ID")
+    @Test(description = "Get pet with non-existent ID")
     @Story("Get Pet - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testGetPetByIdNegative() {
@@ -150,7 +290,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateFieldValue(response, "message", "Pet not found");
     }
 
-    @Test(priority = 8, description = "Get pet with invalid ID format")
+    @Test(description = "Get pet with invalid ID format")
     @Story("Get Pet - Negative")
     @Severity(SeverityLevel.MINOR)
     public void testGetPetWithInvalidIdFormat() {
@@ -161,7 +301,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 9, description = "Update non-existent pet")
+    @Test(description = "Update non-existent pet")
     @Story("Update Pet - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testUpdateNonExistentPet() {
@@ -176,7 +316,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 404);
     }
 
-    @Test(priority = 10, description = "Delete non-existent pet")
+    @Test(description = "Delete non-existent pet")
     @Story("Delete Pet - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testDeleteNonExistentPet() {
@@ -187,7 +327,7 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 404);
     }
 
-    @Test(priority = 11, description = "Find pets with invalid status")
+    @Test(description = "Find pets with invalid status")
     @Story("Find Pets - Negative")
     @Severity(SeverityLevel.MINOR)
     public void testFindPetsByInvalidStatus() {
@@ -198,7 +338,16 @@ public class PetCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 12, description = "Create pet without required fields")
+    @Test(description = "Stream pets with invalid status",
+            expectedExceptions = UnexpectedStatusException.class, expectedExceptionsMessageRegExp = ".*returned 400.*")
+    @Story("Find Pets - Negative")
+    @Severity(SeverityLevel.MINOR)
+    public void testStreamPetsByInvalidStatus() {
+        // Act
+        petEndpoint.streamPetsByStatus("invalid_status").close();
+    }
+
+    @Test(description = "Create pet without required fields")
     @Story("Create Pet - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testCreatePetWithoutRequiredFields() {
@@ -214,6 +363,8 @@ public class PetCrudTest extends BaseTest {
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
     }
-}
-
 
+    private static boolean isStreaming(Response response) {
+        return ((RestAssuredResponseOptionsImpl<?>) response).isInputStream();
+    }
+}
@@ -0,0 +1,49 @@
+package com.petstore.tests;
+
+import com.petstore.utils.ResourceLock;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Pet Store API")
+@Feature("Test Scheduling")
+public class ResourceLockTest {
+    private static final String RESOURCE = "ResourceLockTest.resource";
+
+    private final AtomicInteger writers = new AtomicInteger();
+    private final AtomicInteger peakWriters = new AtomicInteger();
+    private final AtomicInteger readers = new AtomicInteger();
+    private final AtomicInteger peakReaders = new AtomicInteger();
+
+    @Test(invocationCount = 4, threadPoolSize = 4,
+            description = "Invocations that write the same resource run one at a time")
+    @Story("Resource Locks")
+    @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(value = RESOURCE, mode = ResourceLock.Mode.READ_WRITE)
+    public void testWritersRunAlone() throws InterruptedException {
+        peakWriters.accumulateAndGet(writers.incrementAndGet(), Math::max);
+        Thread.sleep(100);
+        writers.decrementAndGet();
+    }
+
+    @Test(invocationCount = 4, threadPoolSize = 4,
+            description = "Invocations that only read the resource run together")
+    @Story("Resource Locks")
+    @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(value = RESOURCE, mode = ResourceLock.Mode.READ)
+    public void testReadersShareResource() throws InterruptedException {
+        peakReaders.accumulateAndGet(readers.incrementAndGet(), Math::max);
+        Thread.sleep(100);
+        readers.decrementAndGet();
+    }
+
+    @Test(dependsOnMethods = {"testWritersRunAlone", "testReadersShareResource"},
+            description = "Writers were serialized while readers overlapped")
+    @Story("Resource Locks")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLocksHeldOnlyWhereDeclared() {
+        Assert.assertEquals(peakWriters.get(), 1, "Writers overlapped");
+        Assert.assertTrue(peakReaders.get() > 1, "Readers never overlapped");
+    }
+}
@@ -0,0 +1,214 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.endpoints.StoreEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.utils.ResponseCacheFilter;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.TestDataGenerator;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.stream.Stream;
+
+@Epic("Pet Store API")
+@Feature("Response Cache")
+public class ResponseCacheTest extends BaseTest {
+
+    @Test(description = "Repeated GETs for the same pet are served from the cache")
+    @Story("Cache Hits")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRepeatedGetIsCached() {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 1 << 20);
+        PetEndpoint cachedPets = new PetEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        Pet pet = TestDataGenerator.createRandomPet();
+        cachedPets.createPet(pet);
+
+        // Act
+        Response first = cachedPets.getPetById(pet.getId());
+        Response second = cachedPets.getPetById(pet.getId());
+
+        // Assert
+        ResponseValidator.validateStatusCode(second, 200);
+        Assert.assertEquals(second.as(Pet.class), first.as(Pet.class));
+        Assert.assertEquals(cache.getMisses(), 1);
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertNotSame(second, first, "Each hit should get its own Response");
+    }
+
+    @Test(description = "Updating a pet invalidates its cached reads and the inventory")
+    @Story("Cache Invalidation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testWriteInvalidatesResource() {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 1 << 20);
+        PetEndpoint cachedPets = new PetEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        StoreEndpoint cachedStore = new StoreEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        Pet pet = TestDataGenerator.createRandomPet();
+        cachedPets.createPet(pet);
+        cachedPets.getPetById(pet.getId());
+        cachedStore.getInventory();
+        Assert.assertEquals(cache.size(), 2);
+
+        // Act
+        pet.setName("Renamed");
+        cachedPets.updatePet(pet);
+        Response response = cachedPets.getPetById(pet.getId());
+
+        // Assert
+        Assert.assertEquals(cache.getInvalidations(), 2);
+        Assert.assertEquals(cache.getHits(), 0);
+        Assert.assertEquals(response.as(Pet.class).getName(), "Renamed");
+    }
+
+    @Test(description = "A GET that was in flight while a write invalidated its resource is not stored")
+    @Story("Cache Invalidation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testReadRacingAWriteIsNotStored() {
+        // Arrange - the write lands after the server answered the GET but before the cache saw it
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 1 << 20);
+        PetEndpoint cachedPets = new PetEndpoint(specWith(cache));
+        Pet pet = TestDataGenerator.createRandomPet();
+        cachedPets.createPet(pet);
+        pet.setName("Renamed");
+        Filter writeMidFlight = (request, response, ctx) -> {
+            Response stale = ctx.next(request, response);
+            cachedPets.updatePet(pet);
+            return stale;
+        };
+
+        // Act
+        RestAssured.given().spec(specWith(cache, writeMidFlight)).pathParam("petId", pet.getId())
+                .get("/pet/{petId}");
+        Response response = cachedPets.getPetById(pet.getId());
+
+        // Assert
+        Assert.assertEquals(cache.getHits(), 0);
+        Assert.assertEquals(response.as(Pet.class).getName(), "Renamed");
+    }
+
+    @Test(description = "Requests that differ in a header the response varies on are cached apart")
+    @Story("Cache Hits")
+    @Severity(SeverityLevel.MINOR)
+    public void testVaryingHeadersAreCachedApart() {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 1 << 20);
+        RequestSpecification spec = specWith(cache);
+
+        // Act
+        RestAssured.given().spec(spec).header("api_key", "first").get("/store/inventory");
+        RestAssured.given().spec(spec).header("api_key", "second").get("/store/inventory");
+        RestAssured.given().spec(spec).header("api_key", "first").get("/store/inventory");
+
+        // Assert
+        Assert.assertEquals(cache.getMisses(), 2);
+        Assert.assertEquals(cache.getHits(), 1);
+    }
+
+    @Test(description = "Streamed reads bypass the cache and bodies past its bound are left unread")
+    @Story("Cache Eviction")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStreamedAndOversizedBodiesAreNotRead() {
+        // Arrange - the default filters, plus a cache
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 1 << 20);
+        PetEndpoint cachedPets = new PetEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        ResponseCacheFilter tinyCache = new ResponseCacheFilter(60_000, 100, 16);
+
+        // Act
+        try (Stream<Pet> pets = cachedPets.streamPetsByStatus("available")) {
+            Assert.assertTrue(pets.findFirst().isPresent(), "No available pet streamed");
+        }
+        Response oversized = RestAssured.given().spec(specWith(tinyCache)).get("/store/inventory");
+
+        // Assert
+        Assert.assertEquals(cache.getMisses(), 0, "The streamed read went through the cache");
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertTrue(((RestAssuredResponseOptionsImpl<?>) oversized).isInputStream(),
+                "The cache read a body it could not store");
+        Assert.assertTrue(oversized.asString().contains("available"), oversized.asString());
+        Assert.assertEquals(tinyCache.size(), 0);
+    }
+
+    @Test(description = "Entries expire after their TTL")
+    @Story("Cache Eviction")
+    @Severity(SeverityLevel.NORMAL)
+    public void testEntryExpiresAfterTtl() throws InterruptedException {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(200, 100, 1 << 20);
+        StoreEndpoint cachedStore = new StoreEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        cachedStore.getInventory();
+
+        // Act
+        Thread.sleep(300);
+        cachedStore.getInventory();
+
+        // Assert
+        Assert.assertEquals(cache.getHits(), 0);
+        Assert.assertEquals(cache.getMisses(), 2);
+        Assert.assertEquals(cache.getEvictions(), 1);
+    }
+
+    @Test(description = "The least recently used entry is evicted once the cache is full")
+    @Story("Cache Eviction")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLeastRecentlyUsedIsEvicted() {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 2, 1 << 20);
+        PetEndpoint cachedPets = new PetEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+        // Seeded on the stub; reads only, so no write invalidates them mid-test
+        cachedPets.getPetById(1L);
+        cachedPets.getPetById(2L);
+        cachedPets.getPetById(1L);
+
+        // Act
+        cachedPets.getPetById(3L);
+
+        // Assert
+        Assert.assertEquals(cache.getEvictions(), 1);
+        cachedPets.getPetById(1L);
+        Assert.assertEquals(cache.getHits(), 2, "Pet 1 was used most recently and should survive");
+        cachedPets.getPetById(2L);
+        Assert.assertEquals(cache.getMisses(), 4, "Pet 2 was least recently used and should be gone");
+        Assert.assertTrue(cache.size() <= 2);
+    }
+
+    @Test(description = "Responses larger than the byte bound are not cached")
+    @Story("Cache Eviction")
+    @Severity(SeverityLevel.MINOR)
+    public void testByteBoundIsRespected() {
+        // Arrange
+        ResponseCacheFilter cache = new ResponseCacheFilter(60_000, 100, 16);
+        StoreEndpoint cachedStore = new StoreEndpoint(TestConfig.getRequestSpec(ApiConfig.getBaseUrl(), cache));
+
+        // Act
+        cachedStore.getInventory();
+        cachedStore.getInventory();
+
+        // Assert
+        Assert.assertEquals(cache.getHits(), 0);
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getByteSize(), 0);
+    }
+
+    private static RequestSpecification specWith(Filter... filters) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(ApiConfig.getBaseUrl())
+                .setConfig(TestConfig.getRestAssuredConfig())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON);
+        for (Filter filter : filters) {
+            builder.addFilter(filter);
+        }
+        return builder.build();
+    }
+}
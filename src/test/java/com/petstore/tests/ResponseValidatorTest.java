@@ -0,0 +1,78 @@
+package com.petstore.tests;
+
+import com.petstore.api.models.Pet;
+import com.petstore.utils.JsonBody;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.TestDataGenerator;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Pet Store API")
+@Feature("Response Validation")
+public class ResponseValidatorTest extends BaseTest {
+
+    @Test(description = "Nested fields of a created pet validate against one parse of the body")
+    @Story("Field Assertions")
+    @Severity(SeverityLevel.NORMAL)
+    public void testNestedFieldsShareOneParse() {
+        // Arrange
+        Pet pet = TestDataGenerator.createRandomPet();
+
+        // Act
+        Response response = petEndpoint.createPet(pet);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        ResponseValidator.validateFieldValue(response, "id", pet.getId());
+        ResponseValidator.validateFieldValue(response, "category.name", pet.getCategory().getName());
+        ResponseValidator.validateFieldValue(response, "tags[0].name", pet.getTags().get(0).getName());
+        ResponseValidator.validateFieldValue(response, "/photoUrls/0", pet.getPhotoUrls().get(0));
+        ResponseValidator.validateFieldExists(response, "status");
+        Assert.assertSame(JsonBody.of(response), JsonBody.of(response), "The body should be parsed once");
+        petEndpoint.deletePet(pet.getId());
+    }
+
+    @Test(description = "Missing fields and mismatched values fail the assertion")
+    @Story("Field Assertions")
+    @Severity(SeverityLevel.NORMAL)
+    public void testMismatchesFail() {
+        // Arrange
+        Response response = new ResponseBuilder()
+                .setStatusCode(404)
+                .setContentType("application/json")
+                .setBody("{\"code\":1,\"type\":\"error\",\"message\":\"Pet not found\",\"extra\":null}")
+                .build();
+
+        // Act & Assert
+        ResponseValidator.validateFieldValue(response, "code", 1L);
+        ResponseValidator.validateFieldValue(response, "extra", null);
+        ResponseValidator.validateErrorMessage(response, "not found");
+        Assert.assertThrows(AssertionError.class, () -> ResponseValidator.validateFieldExists(response, "extra"));
+        Assert.assertThrows(AssertionError.class, () -> ResponseValidator.validateFieldExists(response, "missing"));
+        Assert.assertThrows(AssertionError.class, () -> ResponseValidator.validateFieldValue(response, "code", "1"));
+        Assert.assertThrows(AssertionError.class, () -> ResponseValidator.validateErrorMessage(response, "Order"));
+    }
+
+    @Test(description = "GPath features beyond field names and indices are rejected, not reported as mismatches")
+    @Story("Field Assertions")
+    @Severity(SeverityLevel.MINOR)
+    public void testUnsupportedGPathIsRejected() {
+        // Arrange
+        Response response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody("{\"id\":1,\"tags\":[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]}")
+                .build();
+
+        // Act & Assert
+        ResponseValidator.validateFieldValue(response, "tags[1].name", "b");
+        for (String path : new String[] {"tags.name", "tags.size()", "tags.findAll { it.id > 1 }", "tags[-1].name",
+                "tags[0]name", "tags..name"}) {
+            Assert.assertThrows(IllegalArgumentException.class,
+                    () -> ResponseValidator.validateFieldValue(response, path, "b"));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.stub.PetstoreStubServer;
+import com.petstore.utils.ApiMetrics;
+import com.petstore.utils.CircuitBreaker;
+import com.petstore.utils.CircuitOpenException;
+import com.petstore.utils.ResourceLock;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.RetryFilter;
+import com.petstore.utils.TestDataGenerator;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Pet Store API")
+@Feature("Resilience")
+// Injected faults hit whichever request comes next, so these tests take turns on the stub
+@ResourceLock("RetryFilterTest.stub")
+public class RetryFilterTest {
+    private static final String GET_PET = ApiMetrics.key("GET", "/pet/{petId}");
+
+    private PetstoreStubServer stub;
+    private String route;
+
+    @BeforeClass
+    public void startStub() {
+        // A dedicated instance: injected faults must not hit other classes' requests
+        stub = new PetstoreStubServer().start();
+        route = "http://localhost:" + stub.getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "Transient 5xx responses on idempotent calls are retried until they succeed")
+    @Story("Retry")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testTransientErrorsAreRetried() {
+        // Arrange
+        PetEndpoint pets = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl(), null, newRetryFilter(3, 100)));
+        long retriesBefore = retries();
+        stub.failNextRequests(2, 503);
+
+        // Act
+        Response response = pets.getPetById(1L);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        Assert.assertEquals(response.as(Pet.class).getId(), Long.valueOf(1L));
+        Assert.assertEquals(retries() - retriesBefore, 2);
+    }
+
+    @Test(description = "A retry re-sends the same path, unnamed path parameters included")
+    @Story("Retry")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRetryKeepsUnnamedPathParams() {
+        // Arrange
+        RequestSpecification spec = TestConfig.getRequestSpec(stub.getBaseUrl(), null, newRetryFilter(3, 100));
+        long retriesBefore = retries();
+        stub.failNextRequests(1, 503);
+
+        // Act
+        Response response = RestAssured.given().spec(spec).get("/pet/{petId}", 2L);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        Assert.assertEquals(response.as(Pet.class).getId(), Long.valueOf(2L));
+        Assert.assertEquals(retries() - retriesBefore, 1);
+    }
+
+    @Test(description = "A Retry-After longer than the maximum backoff gives up instead of retrying early")
+    @Story("Retry")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLongRetryAfterIsNotRetriedEarly() {
+        // Arrange - answered without reaching the stub, with a Retry-After well past the 50 ms cap
+        AtomicInteger sent = new AtomicInteger();
+        RequestSpecification spec = new RequestSpecBuilder()
+                .setBaseUri(stub.getBaseUrl())
+                .setConfig(TestConfig.getRestAssuredConfig())
+                .addFilter(newRetryFilter(3, 100))
+                .addFilter((request, response, ctx) -> {
+                    sent.incrementAndGet();
+                    return new ResponseBuilder().setStatusCode(503).setHeader("Retry-After", "5").setBody("").build();
+                })
+                .build();
+
+        // Act
+        Response response = RestAssured.given().spec(spec).get("/pet/{petId}", 1L);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 503);
+        Assert.assertEquals(sent.get(), 1);
+    }
+
+    @Test(description = "A circuit that opens between attempts returns the last failure instead of failing fast")
+    @Story("Circuit Breaker")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCircuitOpeningMidRetryReturnsLastResponse() {
+        // Arrange - 2 of the last 2 calls failing opens the circuit, before the third attempt
+        RetryFilter retry = new RetryFilter(3, 10, 50, false,
+                route -> new CircuitBreaker(route, 8, 2, 0.75, 60_000));
+        PetEndpoint pets = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl(), null, retry));
+        stub.failNextRequests(3, 500);
+
+        // Act
+        Response response;
+        try {
+            response = pets.getPetById(1L);
+        } finally {
+            stub.failNextRequests(0, 500);
+        }
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 500);
+        Assert.assertEquals(retry.getCircuitBreaker(route).getState(), CircuitBreaker.State.OPEN);
+    }
+
+    @Test(description = "Non-idempotent calls are not retried by default")
+    @Story("Retry")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPostIsNotRetried() {
+        // Arrange
+        PetEndpoint pets = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl(), null, newRetryFilter(3, 100)));
+        Pet pet = TestDataGenerator.createRandomPet();
+        stub.failNextRequests(1, 503);
+
+        // Act
+        Response response = pets.createPet(pet);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 503);
+        ResponseValidator.validateStatusCode(pets.getPetById(pet.getId()), 404);
+    }
+
+    @Test(description = "The circuit opens on a failure spike, fails fast, then closes after a successful probe")
+    @Story("Circuit Breaker")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testCircuitOpensAndRecovers() throws InterruptedException {
+        // Arrange
+        // Long enough that the fail-fast check still finds it open on a busy machine
+        RetryFilter retry = newRetryFilter(0, 1000);
+        PetEndpoint pets = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl(), null, retry));
+        long rejectedBefore = circuitRejected();
+        stub.failNextRequests(4, 500);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            ResponseValidator.validateStatusCode(pets.getPetById(1L), 500);
+        }
+
+        // Assert
+        Assert.assertEquals(retry.getCircuitBreaker(route).getState(), CircuitBreaker.State.OPEN);
+        Assert.assertThrows(CircuitOpenException.class, () -> pets.getPetById(1L));
+        Assert.assertEquals(circuitRejected() - rejectedBefore, 1);
+
+        Thread.sleep(1100);
+        ResponseValidator.validateStatusCode(pets.getPetById(1L), 200);
+        Assert.assertEquals(retry.getCircuitBreaker(route).getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertTrue(ApiMetrics.getCircuits().get(route).getOpenMillis() >= 1000);
+    }
+
+    // Its own breakers: 4 of the last 4 calls failing opens the circuit
+    private RetryFilter newRetryFilter(int maxRetries, long openMillis) {
+        return new RetryFilter(maxRetries, 10, 50, false,
+                route -> new CircuitBreaker(route, 8, 4, 0.75, openMillis));
+    }
+
+    private static long retries() {
+        ApiMetrics.EndpointMetrics metrics = ApiMetrics.getEndpoints().get(GET_PET);
+        return metrics != null ? metrics.getRetries() : 0;
+    }
+
+    private long circuitRejected() {
+        ApiMetrics.CircuitMetrics metrics = ApiMetrics.getCircuits().get(route);
+        return metrics != null ? metrics.getRejected() : 0;
+    }
+}
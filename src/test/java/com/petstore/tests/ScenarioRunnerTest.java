@@ -0,0 +1,175 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.models.Pet;
+import com.petstore.load.Journeys;
+import com.petstore.load.Scenario;
+import com.petstore.load.ScenarioProfile;
+import com.petstore.load.ScenarioReport;
+import com.petstore.load.ScenarioRunner;
+import com.petstore.load.StepStats;
+import com.petstore.load.ThinkTime;
+import com.petstore.stub.PetstoreStubServer;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.time.Duration;
+import java.util.List;
+
+@Epic("Pet Store API")
+@Feature("Load Generation")
+public class ScenarioRunnerTest {
+    private PetstoreStubServer stub;
+
+    @BeforeClass
+    public void startStub() {
+        stub = new PetstoreStubServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "The shopper journey runs every step in order and splits between its weighted branches")
+    @Story("Scenarios")
+    @Severity(SeverityLevel.NORMAL)
+    public void testShopperJourneyReportsPerStepMetrics() {
+        // Arrange
+        Scenario shopper = Journeys.shopper(ThinkTime.uniform(Duration.ZERO, Duration.ofMillis(2)));
+
+        // Act
+        ScenarioReport report = new ScenarioRunner(shopper, profile(8, 200, 3000)).run();
+
+        // Assert - no step failed, so every journey ran each of its steps exactly once
+        long journeys = report.getJourneys();
+        Assert.assertTrue(journeys >= 20, "Only " + journeys + " journeys");
+        Assert.assertEquals(report.getFailedJourneys(), 0);
+        Assert.assertEquals(report.getPeakActiveUsers(), 8);
+        Assert.assertEquals(shopper.getStepNames(), List.of("createUser", "loginUser", "findPetsByStatus",
+                "placeOrder", "getInventory", "logoutUser", "deleteOrder", "deleteUser"));
+        for (StepStats step : report.getSteps()) {
+            Assert.assertEquals(step.getErrors(), 0, step.summary());
+            Assert.assertTrue(step.getP99Millis() >= step.getP50Millis(), step.summary());
+        }
+        for (String step : new String[] {"createUser", "loginUser", "findPetsByStatus", "getInventory", "logoutUser", "deleteUser"}) {
+            Assert.assertEquals(report.getStep(step).getCount(), journeys, step);
+        }
+        long orders = report.getStep("placeOrder").getCount();
+        Assert.assertEquals(report.getStep("deleteOrder").getCount(), orders, "An extracted order id was not used");
+        double orderShare = orders / (double) journeys;
+        Assert.assertTrue(orderShare > 0.4 && orderShare < 0.95, "Order branch took " + orderShare + " of journeys");
+    }
+
+    @Test(description = "A step whose value cannot be extracted fails and ends the journey")
+    @Story("Scenarios")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFailedExtractionEndsJourney() {
+        // Arrange
+        Scenario scenario = Scenario.builder("broken")
+                .exec("getInventory", (context, session) -> context.store().getInventory())
+                .saveAs("missing", response -> response.jsonPath().get("noSuchField"))
+                .exec("never", (context, session) -> context.store().getOrderById(session.getLong("missing")))
+                .build();
+
+        // Act
+        ScenarioReport report = new ScenarioRunner(scenario, profile(2, 0, 300)).run();
+
+        // Assert
+        StepStats inventory = report.getStep("getInventory");
+        Assert.assertTrue(report.getJourneys() > 0);
+        Assert.assertEquals(report.getFailedJourneys(), report.getJourneys());
+        Assert.assertEquals(inventory.getErrors(), inventory.getCount());
+        Assert.assertEquals(report.getStep("never").getCount(), 0);
+    }
+
+    @Test(description = "Cleanup steps run after a failed step, but only for values the journey set")
+    @Story("Scenarios")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCleanupRunsAfterFailure() {
+        // Arrange
+        Scenario scenario = Scenario.builder("cleanup")
+                .exec("getInventory", (context, session) -> context.store().getInventory())
+                .saveAs("seen", response -> Boolean.TRUE)
+                .exec("fails", (context, session) -> context.store().getOrderById(session.getLong("missing")))
+                .cleanup("afterSeen", "seen", (context, session) -> context.store().getInventory())
+                .cleanup("afterMissing", "missing", (context, session) -> context.store().getInventory())
+                .build();
+
+        // Act
+        ScenarioReport report = new ScenarioRunner(scenario, profile(2, 0, 300)).run();
+
+        // Assert
+        Assert.assertTrue(report.getJourneys() > 0);
+        Assert.assertEquals(report.getFailedJourneys(), report.getJourneys());
+        Assert.assertEquals(report.getStep("afterSeen").getCount(), report.getJourneys());
+        Assert.assertEquals(report.getStep("afterSeen").getErrors(), 0);
+        Assert.assertEquals(report.getStep("afterMissing").getCount(), 0);
+    }
+
+    @Test(description = "With no pet available the shopper's browse step fails cleanly and cleanup still runs")
+    @Story("Scenarios")
+    @Severity(SeverityLevel.NORMAL)
+    public void testShopperJourneyWithNoAvailablePets() {
+        // Arrange - an empty result, as on a fresh backend
+        PetEndpoint pets = new PetEndpoint(TestConfig.getRequestSpec(stub.getBaseUrl()));
+        pets.getPetsByStatus(Pet.Status.AVAILABLE.getValue()).jsonPath().getList("id", Long.class)
+                .forEach(pets::deletePet);
+        Scenario shopper = Journeys.shopper(ThinkTime.constant(Duration.ZERO));
+
+        try {
+            // Act
+            ScenarioReport report = new ScenarioRunner(shopper, profile(2, 0, 300)).run();
+
+            // Assert
+            StepStats browse = report.getStep("findPetsByStatus");
+            Assert.assertTrue(report.getJourneys() > 0);
+            Assert.assertEquals(report.getFailedJourneys(), report.getJourneys());
+            Assert.assertEquals(browse.getCount(), report.getJourneys());
+            Assert.assertEquals(browse.getErrors(), browse.getCount());
+            Assert.assertEquals(report.getStep("placeOrder").getCount(), 0);
+            Assert.assertEquals(report.getStep("deleteUser").getCount(), report.getJourneys());
+            Assert.assertEquals(report.getStep("deleteUser").getErrors(), 0);
+        } finally {
+            stub.reset();
+        }
+    }
+
+    @Test(description = "Thousands of virtual users in think time are all active at once")
+    @Story("Scenarios")
+    @Severity(SeverityLevel.NORMAL)
+    public void testManyVirtualUsersRunConcurrently() {
+        // Arrange - each user spends its time thinking, as real users do, and few go on to a request
+        int users = 10000;
+        Scenario browse = Scenario.builder("browse")
+                .pause(ThinkTime.constant(Duration.ofSeconds(2)))
+                .oneOf(Scenario.branch(1, Scenario.chain()
+                                .exec("getInventory", (context, session) -> context.store().getInventory())),
+                        Scenario.branch(199, Scenario.chain()
+                                .pause(ThinkTime.uniform(Duration.ZERO, Duration.ofMillis(100)))))
+                .build();
+
+        // Act - nobody finishes thinking before the last user has started
+        ScenarioReport report = new ScenarioRunner(browse, profile(users, 1000, 500)).run();
+
+        // Assert
+        Assert.assertEquals(report.getPeakActiveUsers(), users);
+        Assert.assertEquals(report.getJourneys(), users);
+        Assert.assertEquals(report.getFailedJourneys(), 0);
+        Assert.assertEquals(report.getStep("getInventory").getErrors(), 0);
+    }
+
+    private ScenarioProfile profile(int users, long rampUpMillis, long durationMillis) {
+        return ScenarioProfile.builder()
+                .baseUrl(stub.getBaseUrl())
+                .virtualUsers(users)
+                .rampUp(Duration.ofMillis(rampUpMillis))
+                .duration(Duration.ofMillis(durationMillis))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.petstore.tests;
+
+import com.petstore.load.SoakFlow;
+import com.petstore.load.SoakProfile;
+import com.petstore.load.SoakReport;
+import com.petstore.load.SoakRunner;
+import com.petstore.load.SoakWindow;
+import com.petstore.stub.PetstoreStubServer;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Epic("Pet Store API")
+@Feature("Load Generation")
+public class SoakRunnerTest {
+    private PetstoreStubServer stub;
+
+    @BeforeClass
+    public void startStub() {
+        // A dedicated instance: the drift test slows down every response it serves
+        stub = new PetstoreStubServer().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test(description = "A soak run reports every window and flags the ones whose p99 drifts from the baseline")
+    @Story("Soak")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSoakRunFlagsLatencyDrift() throws IOException {
+        // Arrange - the backend slows down after the fourth window
+        String reportPath = "target/soak-test/drift";
+        SoakRunner runner = new SoakRunner(profile(reportPath, 1 << 20))
+                .onWindow(window -> {
+                    if (window.getWindow() == 3) {
+                        stub.setResponseDelay(250);
+                    }
+                });
+
+        // Act
+        SoakReport report;
+        try {
+            report = runner.run();
+        } finally {
+            stub.setResponseDelay(0);
+        }
+
+        // Assert - the slowdown is well past the threshold, so scheduling noise cannot hide it
+        List<SoakWindow> windows = report.getRecentWindows();
+        List<SoakWindow> slowed = windows.stream()
+                .filter(window -> window.getWindow() >= 5 && window.getRequests() > 0)
+                .collect(Collectors.toList());
+        Assert.assertTrue(report.getWindowCount() >= 10, "Only " + report.getWindowCount() + " windows");
+        Assert.assertEquals(report.getErrors(), 0);
+        Assert.assertTrue(report.getBaselineP99Millis() > 0, "No baseline was measured");
+        Assert.assertTrue(windows.stream().limit(4).allMatch(window -> window.getRequests() > 0),
+                "A window before the slowdown saw no requests");
+        Assert.assertTrue(windows.stream().limit(3).noneMatch(SoakWindow::isDrifted), "A baseline window was flagged");
+        Assert.assertFalse(slowed.isEmpty(), "No requests completed after the slowdown");
+        Assert.assertTrue(slowed.stream().allMatch(SoakWindow::isDrifted), "Windows after the slowdown were not flagged");
+        Assert.assertEquals(report.getDriftedWindows(), windows.stream().filter(SoakWindow::isDrifted).count());
+
+        List<String> csv = Files.readAllLines(Paths.get(reportPath + ".csv"));
+        Assert.assertEquals(csv.get(0), SoakWindow.CSV_HEADER);
+        Assert.assertEquals(csv.size(), report.getWindowCount() + 1);
+        Assert.assertEquals(Files.readAllLines(Paths.get(reportPath + ".jsonl")).size(), report.getWindowCount());
+    }
+
+    @Test(description = "Report files roll over instead of growing without bound")
+    @Story("Soak")
+    @Severity(SeverityLevel.MINOR)
+    public void testReportFilesRollOver() throws IOException {
+        // Arrange - room for the header and about two windows
+        String reportPath = "target/soak-test/rolling";
+        SoakProfile profile = profile(reportPath, 512);
+        profile.setDuration(Duration.ofMillis(1200));
+        profile.setHistoryWindows(2);
+
+        // Act
+        SoakReport report = new SoakRunner(profile).run();
+
+        // Assert
+        Path csv = Paths.get(reportPath + ".csv");
+        Assert.assertTrue(Files.exists(Paths.get(reportPath + ".csv.1")), "CSV was not rolled over");
+        Assert.assertTrue(Files.exists(Paths.get(reportPath + ".jsonl.1")), "JSON Lines were not rolled over");
+        Assert.assertTrue(Files.size(csv) <= 512, "CSV grew to " + Files.size(csv) + " bytes");
+        Assert.assertEquals(Files.readAllLines(csv).get(0), SoakWindow.CSV_HEADER);
+        Assert.assertEquals(report.getRecentWindows().size(), 2);
+        Assert.assertTrue(report.getWindowCount() > 2);
+    }
+
+    private SoakProfile profile(String reportPath, long maxBytes) {
+        return SoakProfile.builder()
+                .baseUrl(stub.getBaseUrl())
+                .concurrency(4)
+                .duration(Duration.ofMillis(2400))
+                .window(Duration.ofMillis(200))
+                .flows(SoakFlow.parse("pet,store,user"))
+                .baselineWindows(3)
+                .driftThreshold(1.0)
+                .reportPath(reportPath)
+                .reportMaxBytes(maxBytes)
+                .historyWindows(100)
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.petstore.tests;
 import com.petstore.api.models.Order;
 import com.petstore.utils.TestDataGenerator;
 import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.VirtualThreads;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 import org.testng.Assert;
@@ -15,7 +16,7 @@ public class StoreCrudTest extends BaseTest {
 
     // ========== POSITIVE SCENARIOS ==========
 
-    @Test(priority = 1, description = "Place a new order")
+    @Test(description = "Place a new order")
     @Story("Place Order")
     @Severity(SeverityLevel.CRITICAL)
     public void testPlaceOrderPositive() {
@@ -32,12 +33,9 @@ public class StoreCrudTest extends BaseTest {
         Assert.assertNotNull(createdOrder.getId());
         Assert.assertEquals(createdOrder.getPetId(), newOrder.getPetId());
         Assert.assertEquals(createdOrder.getQuantity(), newOrder.getQuantity());
-
-        // Cleanup
-        storeEndpoint.deleteOrder(createdOrder.getId());
     }
 
-    @Test(priority = 2, description = "Get order by ID")
+    @Test(description = "Get order by ID")
     @Story("Get Order")
     @Severity(SeverityLevel.CRITICAL)
     public void testGetOrderByIdPositive() {
@@ -55,12 +53,9 @@ public class StoreCrudTest extends BaseTest {
 
         Assert.assertEquals(retrievedOrder.getId(), createdOrder.getId());
         Assert.assertEquals(retrievedOrder.getPetId(), createdOrder.getPetId());
-
-        // Cleanup
-        storeEndpoint.deleteOrder(createdOrder.getId());
     }
 
-    @Test(priority = 3, description = "Delete existing order")
+    @Test(description = "Delete existing order")
     @Story("Delete Order")
     @Severity(SeverityLevel.CRITICAL)
     public void testDeleteOrderPositive() {
@@ -80,7 +75,7 @@ public class StoreCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(getResponse, 404);
     }
 
-    @Test(priority = 4, description = "Get store inventory")
+    @Test(description = "Get store inventory")
     @Story("Get Inventory")
     @Severity(SeverityLevel.NORMAL)
     public void testGetInventoryPositive() {
@@ -95,9 +90,21 @@ public class StoreCrudTest extends BaseTest {
         Assert.assertTrue(inventory.size() > 0, "Inventory should not be empty");
     }
 
+    @Test(description = "Get store inventory from many virtual threads at once")
+    @Story("Get Inventory")
+    @Severity(SeverityLevel.NORMAL)
+    @VirtualThreads(invocations = 100)
+    public void testGetInventoryConcurrently() {
+        // Act
+        Response response = storeEndpoint.getInventory();
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+    }
+
     // ========== NEGATIVE SCENARIOS ==========
 
-    @Test(priority = 5, description = "Get non-existent order")
+    @Test(description = "Get non-existent order")
     @Story("Get Order - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testGetNonExistentOrder() {
@@ -109,7 +116,7 @@ public class StoreCrudTest extends BaseTest {
         ResponseValidator.validateFieldValue(response, "message", "Order not found");
     }
 
-    @Test(priority = 6, description = "Place order with invalid data")
+    @Test(description = "Place order with invalid data")
     @Story("Place Order - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testPlaceOrderWithInvalidData() {
@@ -128,7 +135,7 @@ public class StoreCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 7, description = "Delete non-existent order")
+    @Test(description = "Delete non-existent order")
     @Story("Delete Order - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testDeleteNonExistentOrder() {
@@ -139,7 +146,7 @@ public class StoreCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 404);
     }
 
-    @Test(priority = 8, description = "Get order with invalid ID format")
+    @Test(description = "Get order with invalid ID format")
     @Story("Get Order - Negative")
     @Severity(SeverityLevel.MINOR)
     public void testGetOrderWithInvalidIdFormat() {
@@ -150,7 +157,7 @@ public class StoreCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 9, description = "Place order without required fields")
+    @Test(description = "Place order without required fields")
     @Story("Place Order - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testPlaceOrderWithoutRequiredFields() {
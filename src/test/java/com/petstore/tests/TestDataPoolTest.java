@@ -0,0 +1,123 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.models.Pet;
+import com.petstore.load.LoadContext;
+import com.petstore.utils.ConcurrentExecutor;
+import com.petstore.utils.TestDataGenerator;
+import com.petstore.utils.TestDataPool;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Epic("Pet Store API")
+@Feature("Test Data")
+public class TestDataPoolTest {
+
+    @Test(description = "Pools with the same seed hand out the same entities")
+    @Story("Test Data Pool")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSameSeedReproducesData() {
+        // Arrange
+        TestDataPool<String> first = new TestDataPool<>(TestDataPoolTest::describe, 5000, 128, 42L, 1L);
+        TestDataPool<String> second = new TestDataPool<>(TestDataPoolTest::describe, 5000, 128, 42L, 1L).preload();
+
+        // Act & Assert
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(first.next(), second.next(), "Entity " + i + " differs");
+        }
+        Assert.assertEquals(first.remaining(), 0);
+    }
+
+    @Test(description = "Concurrent consumers never receive the same id twice")
+    @Story("Test Data Pool")
+    @Severity(SeverityLevel.NORMAL)
+    public void testIdsAreUniqueAcrossThreads() {
+        // Arrange
+        TestDataPool<Pet> pool = TestDataPool.pets(20_000, 7L);
+
+        // Act
+        List<Long> ids = ConcurrentExecutor.invokeAll(
+                IntStream.range(0, 20_000).boxed().collect(Collectors.toList()), i -> pool.next().getId(), 64);
+
+        // Assert
+        Assert.assertEquals(new HashSet<>(ids).size(), 20_000);
+        Assert.assertThrows(IllegalStateException.class, pool::next);
+    }
+
+    @Test(description = "Changing one pooled pet's category or tags leaves every other pet alone")
+    @Story("Test Data Pool")
+    @Severity(SeverityLevel.MINOR)
+    public void testPooledPetsDoNotShareMutableValues() {
+        // Arrange
+        TestDataPool<Pet> pool = TestDataPool.pets(1000, 1L);
+        Pet first = pool.next();
+        String category = first.getCategory().getName();
+        String tag = first.getTags().get(0).getName();
+
+        // Act
+        first.getCategory().setName("Renamed");
+        first.getTags().get(0).setName("renamed");
+
+        // Assert
+        for (int i = 1; i < 1000; i++) {
+            Pet pet = pool.next();
+            Assert.assertNotEquals(pet.getCategory().getName(), "Renamed", "Category shared with pet " + i);
+            Assert.assertNotEquals(pet.getTags().get(0).getName(), "renamed", "Tag shared with pet " + i);
+        }
+        Assert.assertEquals(TestDataPool.pets(1, 1L).next().getCategory().getName(), category);
+        Assert.assertEquals(TestDataPool.pets(1, 1L).next().getTags().get(0).getName(), tag);
+    }
+
+    @Test(description = "A partial preload generates only the chunks holding the requested entities")
+    @Story("Test Data Pool")
+    @Severity(SeverityLevel.MINOR)
+    public void testPartialPreload() {
+        // Arrange
+        AtomicInteger generated = new AtomicInteger();
+        TestDataPool<String> pool = new TestDataPool<>((id, random) -> {
+            generated.incrementAndGet();
+            return describe(id, random);
+        }, 1000, 128, 42L, 1L);
+
+        // Act
+        pool.preload(200);
+
+        // Assert - two chunks up front, the rest on demand
+        Assert.assertEquals(generated.get(), 256);
+        for (int i = 0; i < 300; i++) {
+            pool.next();
+        }
+        Assert.assertEquals(generated.get(), 384);
+    }
+
+    @Test(description = "A load context given an id block draws every pool from that block")
+    @Story("Test Data Pool")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLoadContextUsesItsIdBlock() {
+        // Arrange - as a distributed worker assigned block 7; nothing is sent
+        long firstId = 7_000_000_000_000L;
+        long poolSize = ApiConfig.getLoadDataPoolSize();
+
+        // Act
+        LoadContext context = new LoadContext(TestConfig.getLoadRequestSpec("http://localhost:1/v2"), 42L, 7L);
+
+        // Assert
+        Assert.assertEquals(context.newPet().getId().longValue(), firstId);
+        Assert.assertEquals(context.newOrder().getId().longValue(), firstId + poolSize);
+        Assert.assertEquals(context.newUser().getId().longValue(), firstId + 2 * poolSize);
+        Assert.assertThrows(IllegalArgumentException.class, () -> TestDataGenerator.firstIdOfBlock(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TestDataGenerator.firstIdOfBlock(1000));
+    }
+
+    private static String describe(long id, SplittableRandom random) {
+        return id + ":" + random.nextInt(1000);
+    }
+}
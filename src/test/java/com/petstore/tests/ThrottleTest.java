@@ -0,0 +1,144 @@
+package com.petstore.tests;
+
+import com.petstore.api.config.ApiConfig;
+import com.petstore.api.config.TestConfig;
+import com.petstore.api.endpoints.PetEndpoint;
+import com.petstore.api.endpoints.StoreEndpoint;
+import com.petstore.utils.AdaptiveConcurrencyLimiter;
+import com.petstore.utils.ConcurrentExecutor;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.ThrottleFilter;
+import com.petstore.utils.TokenBucketRateLimiter;
+import io.qameta.allure.*;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Epic("Pet Store API")
+@Feature("Throttling")
+public class ThrottleTest extends BaseTest {
+
+    @Test(description = "The token bucket allows a burst, then paces calls at the configured rate")
+    @Story("Rate Limiting")
+    @Severity(SeverityLevel.NORMAL)
+    public void testTokenBucketPacesCalls() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 5);
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            limiter.acquire();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert - 5 from the burst, 25 more at 20 ms apart
+        Assert.assertTrue(elapsedMs >= 450, "Took only " + elapsedMs + " ms");
+        Assert.assertTrue(elapsedMs < 1500, "Took " + elapsedMs + " ms");
+        Assert.assertFalse(limiter.tryAcquire(), "Bucket should be empty right after pacing");
+    }
+
+    @Test(description = "The adaptive limiter grows while calls are fast and backs off when they are dropped")
+    @Story("Concurrency Limiting")
+    @Severity(SeverityLevel.NORMAL)
+    public void testAdaptiveLimitGrowsAndShrinks() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 64, 2.0, 0.5);
+
+        // Act - saturate the limit with fast calls
+        for (int round = 0; round < 60; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                limiter.acquire();
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+            }
+        }
+        int grown = limiter.getLimit();
+        limiter.acquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5), true);
+        int afterDrop = limiter.getLimit();
+        limiter.acquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(50), false);
+        int afterSlowCall = limiter.getLimit();
+
+        // Assert
+        Assert.assertTrue(grown >= 20, "Limit only grew to " + grown);
+        Assert.assertEquals(afterDrop, grown / 2, 1);
+        Assert.assertTrue(afterSlowCall < afterDrop, "A call 10x slower than the baseline should back off");
+        Assert.assertEquals(limiter.getInFlight(), 0);
+    }
+
+    @Test(description = "Concurrent callers never exceed the adaptive limit")
+    @Story("Concurrency Limiting")
+    @Severity(SeverityLevel.NORMAL)
+    public void testAdaptiveLimitCapsInFlightCalls() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 3, 3, 2.0, 0.9);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // Act
+        ConcurrentExecutor.invokeAll(Collections.nCopies(60, 0), ignored -> {
+            limiter.acquire();
+            long start = System.nanoTime();
+            try {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                inFlight.decrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                limiter.release(System.nanoTime() - start, false);
+            }
+            return null;
+        });
+
+        // Assert
+        Assert.assertTrue(peak.get() <= 3, "Peak in flight was " + peak.get());
+    }
+
+    @Test(description = "Route limits from the filter apply per top-level route")
+    @Story("Rate Limiting")
+    @Severity(SeverityLevel.NORMAL)
+    public void testThrottleFilterLimitsPerRoute() {
+        // Arrange - store is paced at 20/s, pet is unlimited
+        ThrottleFilter throttle = new ThrottleFilter(route -> new ThrottleFilter.Limits(
+                "store".equals(route) ? new TokenBucketRateLimiter(20, 1) : null,
+                new AdaptiveConcurrencyLimiter(8, 1, 64, 2.0, 0.9)));
+        RequestSpecification spec = new RequestSpecBuilder()
+                .setBaseUri(ApiConfig.getBaseUrl())
+                .setConfig(TestConfig.getRestAssuredConfig())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addFilter(throttle)
+                .build();
+        StoreEndpoint store = new StoreEndpoint(spec);
+        PetEndpoint pets = new PetEndpoint(spec);
+
+        // Act
+        long start = System.nanoTime();
+        List<Integer> statuses = IntStream.range(0, 11)
+                .mapToObj(i -> store.getInventory().getStatusCode())
+                .collect(Collectors.toList());
+        long storeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ResponseValidator.validateStatusCode(pets.getPetById(1L), 200);
+
+        // Assert - the first call is free, the next ten are 50 ms apart
+        Assert.assertTrue(statuses.stream().allMatch(status -> status == 200));
+        Assert.assertTrue(storeMs >= 450, "Store calls took only " + storeMs + " ms");
+        String host = ApiConfig.getBaseUrl().replaceAll("(https?://[^/]+).*", "$1");
+        Assert.assertNotNull(throttle.getLimits(host + " store"));
+        Assert.assertNull(throttle.getLimits(host + " pet").getRateLimiter());
+        Assert.assertEquals(throttle.getLimits(host + " pet").getConcurrencyLimiter().getInFlight(), 0);
+    }
+}
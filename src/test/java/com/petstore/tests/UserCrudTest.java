@@ -1,20 +1,24 @@
 package com.petstore.tests;
 
 import com.petstore.api.models.User;
+import com.petstore.utils.ResourceLock;
 import com.petstore.utils.TestDataGenerator;
 import com.petstore.utils.ResponseValidator;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 import org.testng.Assert;
 import io.qameta.allure.*;
+import java.util.List;
 
 @Epic("Pet Store API")
 @Feature("User Management")
 public class UserCrudTest extends BaseTest {
+    // The backend keeps one login session, so login and logout must not interleave
+    private static final String USER_SESSION = "user-session";
 
     // ========== POSITIVE SCENARIOS ==========
 
-    @Test(priority = 1, description = "Create new user with valid data")
+    @Test(description = "Create new user with valid data")
     @Story("Create User")
     @Severity(SeverityLevel.CRITICAL)
     public void testCreateUserPositive() {
@@ -28,12 +32,9 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 200);
         ResponseValidator.validateFieldValue(response, "code", 200);
         ResponseValidator.validateFieldValue(response, "type", "unknown");
-
-        // Cleanup
-        userEndpoint.deleteUser(newUser.getUsername());
     }
 
-    @Test(priority = 2, description = "Get user by username")
+    @Test(description = "Get user by username")
     @Story("Get User")
     @Severity(SeverityLevel.CRITICAL)
     public void testGetUserByUsernamePositive() {
@@ -50,12 +51,9 @@ public class UserCrudTest extends BaseTest {
 
         Assert.assertEquals(retrievedUser.getUsername(), newUser.getUsername());
         Assert.assertEquals(retrievedUser.getEmail(), newUser.getEmail());
-
-        // Cleanup
-        userEndpoint.deleteUser(newUser.getUsername());
     }
 
-    @Test(priority = 3, description = "Update existing user")
+    @Test(description = "Update existing user")
     @Story("Update User")
     @Severity(SeverityLevel.CRITICAL)
     public void testUpdateUserPositive() {
@@ -78,12 +76,9 @@ public class UserCrudTest extends BaseTest {
 
         Assert.assertEquals(updatedUser.getEmail(), "updated@test.com");
         Assert.assertEquals(updatedUser.getFirstName(), "UpdatedName");
-
-        // Cleanup
-        userEndpoint.deleteUser(newUser.getUsername());
     }
 
-    @Test(priority = 4, description = "Delete existing user")
+    @Test(description = "Delete existing user")
     @Story("Delete User")
     @Severity(SeverityLevel.CRITICAL)
     public void testDeleteUserPositive() {
@@ -102,9 +97,46 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(getResponse, 404);
     }
 
-    @Test(priority = 5, description = "User login with valid credentials")
+    @Test(description = "Create users in one request with createWithArray")
+    @Story("Create User")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreateUsersWithArrayPositive() {
+        // Arrange
+        List<User> newUsers = TestDataGenerator.createRandomUsers(5);
+
+        // Act
+        Response response = userEndpoint.createUsersWithArray(newUsers);
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        for (User newUser : newUsers) {
+            Response getResponse = userEndpoint.getUserByUsername(newUser.getUsername());
+            ResponseValidator.validateStatusCode(getResponse, 200);
+            Assert.assertEquals(getResponse.as(User.class).getEmail(), newUser.getEmail());
+        }
+    }
+
+    @Test(description = "Create many users in parallel createWithList batches")
+    @Story("Create User")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreateUsersInBatchesPositive() {
+        // Arrange
+        List<User> newUsers = TestDataGenerator.createRandomUsers(250);
+
+        // Act
+        List<Response> responses = userEndpoint.createUsersInBatches(newUsers, 100, 4);
+
+        // Assert - one request per chunk: 100 + 100 + 50
+        Assert.assertEquals(responses.size(), 3);
+        responses.forEach(response -> ResponseValidator.validateStatusCode(response, 200));
+        User lastUser = newUsers.get(newUsers.size() - 1);
+        ResponseValidator.validateStatusCode(userEndpoint.getUserByUsername(lastUser.getUsername()), 200);
+    }
+
+    @Test(description = "User login with valid credentials")
     @Story("User Login")
     @Severity(SeverityLevel.CRITICAL)
+    @ResourceLock(USER_SESSION)
     public void testUserLoginPositive() {
         // Arrange
         User newUser = TestDataGenerator.createRandomUser();
@@ -119,14 +151,12 @@ public class UserCrudTest extends BaseTest {
 
         String message = response.jsonPath().getString("message");
         Assert.assertTrue(message.contains("logged in user session"));
-
-        // Cleanup
-        userEndpoint.deleteUser(newUser.getUsername());
     }
 
-    @Test(priority = 6, description = "User logout")
+    @Test(description = "User logout")
     @Story("User Logout")
     @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(USER_SESSION)
     public void testUserLogoutPositive() {
         // Act
         Response response = userEndpoint.logoutUser();
@@ -135,9 +165,26 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 200);
     }
 
+    @Test(description = "Async calls encode path parameters as path segments, not form fields")
+    @Story("Get User")
+    @Severity(SeverityLevel.NORMAL)
+    public void testGetUserWithReservedCharactersAsync() {
+        // Arrange - form encoding would send the space as '+', which a path keeps literally
+        User newUser = TestDataGenerator.createRandomUser();
+        newUser.setUsername("async " + newUser.getUsername() + "+ü");
+        userEndpoint.createUser(newUser);
+
+        // Act
+        Response response = asyncUserEndpoint.getUserByUsername(newUser.getUsername()).join();
+
+        // Assert
+        ResponseValidator.validateStatusCode(response, 200);
+        Assert.assertEquals(response.as(User.class).getUsername(), newUser.getUsername());
+    }
+
     // ========== NEGATIVE SCENARIOS ==========
 
-    @Test(priority = 7, description = "Get non-existent user")
+    @Test(description = "Get non-existent user")
     @Story("Get User - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testGetNonExistentUser() {
@@ -149,7 +196,7 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateFieldValue(response, "message", "User not found");
     }
 
-    @Test(priority = 8, description = "Create user with invalid data")
+    @Test(description = "Create user with invalid data")
     @Story("Create User - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testCreateUserWithInvalidData() {
@@ -166,7 +213,7 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 400);
     }
 
-    @Test(priority = 9, description = "Update non-existent user")
+    @Test(description = "Update non-existent user")
     @Story("Update User - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testUpdateNonExistentUser() {
@@ -180,7 +227,7 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 404);
     }
 
-    @Test(priority = 10, description = "Delete non-existent user")
+    @Test(description = "Delete non-existent user")
     @Story("Delete User - Negative")
     @Severity(SeverityLevel.NORMAL)
     public void testDeleteNonExistentUser() {
@@ -191,9 +238,10 @@ public class UserCrudTest extends BaseTest {
         ResponseValidator.validateStatusCode(response, 404);
     }
 
-    @Test(priority = 11, description = "Login with invalid credentials")
+    @Test(description = "Login with invalid credentials")
     @Story("User Login - Negative")
     @Severity(SeverityLevel.NORMAL)
+    @ResourceLock(USER_SESSION)
     public void testLoginWithInvalidCredentials() {
         // Act
         Response response = userEndpoint.loginUser("invaliduser", "wrongpassword");
@@ -0,0 +1,45 @@
+package com.petstore.tests;
+
+import com.petstore.utils.VirtualThreads;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Epic("Pet Store API")
+@Feature("Virtual Threads")
+public class VirtualThreadListenerTest {
+    private static final int INVOCATIONS = 20;
+
+    private final Set<ITestResult> reporterResults = ConcurrentHashMap.newKeySet();
+    private final Set<Optional<String>> allureTestCases = ConcurrentHashMap.newKeySet();
+
+    @Test(description = "Every virtual-thread invocation runs as the current test")
+    @Story("Report Context")
+    @Severity(SeverityLevel.NORMAL)
+    @VirtualThreads(invocations = INVOCATIONS)
+    public void testInvocationsRunAsTheCurrentTest() {
+        ITestResult current = Reporter.getCurrentTestResult();
+        Assert.assertNotNull(current, "No current TestNG result on " + Thread.currentThread());
+        reporterResults.add(current);
+        allureTestCases.add(Allure.getLifecycle().getCurrentTestCase());
+        Reporter.log("invocation on " + Thread.currentThread());
+    }
+
+    @Test(description = "What the invocations report lands on their own test",
+            dependsOnMethods = "testInvocationsRunAsTheCurrentTest")
+    @Story("Report Context")
+    @Severity(SeverityLevel.NORMAL)
+    public void testInvocationsReportOnTheirTest() {
+        Assert.assertEquals(reporterResults.size(), 1, "Invocations saw different results: " + reporterResults);
+        ITestResult result = reporterResults.iterator().next();
+        Assert.assertEquals(result.getMethod().getMethodName(), "testInvocationsRunAsTheCurrentTest");
+        Assert.assertEquals(Reporter.getOutput(result).size(), INVOCATIONS);
+        Assert.assertEquals(allureTestCases.size(), 1, "Invocations saw different test cases: " + allureTestCases);
+        Assert.assertTrue(allureTestCases.iterator().next().isPresent(), "No current Allure test case");
+    }
+}